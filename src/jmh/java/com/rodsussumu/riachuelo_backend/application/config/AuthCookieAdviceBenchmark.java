@@ -0,0 +1,86 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import com.rodsussumu.riachuelo_backend.application.controllers.TaskController;
+import com.rodsussumu.riachuelo_backend.application.controllers.UserController;
+import com.rodsussumu.riachuelo_backend.application.dtos.UserAuthResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerTypePredicate;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost AuthCookieAdvice adds to each response. The legacy benchmarks run the
+ * per-response type resolution the advice used to do for every controller;
+ * the current ones run what Spring now evaluates: the assignableTypes
+ * predicate, which keeps /tasks responses away from the advice, and the
+ * cached supports() for the auth endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthCookieAdviceBenchmark {
+
+    private AuthCookieAdvice advice;
+    private HandlerTypePredicate adviceScope;
+    private MethodParameter taskList;
+    private MethodParameter login;
+
+    @Setup
+    public void setUp() {
+        advice = new AuthCookieAdvice();
+        ControllerAdvice annotation = AnnotatedElementUtils.findMergedAnnotation(AuthCookieAdvice.class, ControllerAdvice.class);
+        adviceScope = HandlerTypePredicate.builder().assignableType(annotation.assignableTypes()).build();
+        taskList = returnType(TaskController.class, "list");
+        login = returnType(UserController.class, "login");
+    }
+
+    @Benchmark
+    public boolean legacyTaskResponse() {
+        return legacySupports(taskList);
+    }
+
+    @Benchmark
+    public boolean currentTaskResponse() {
+        return adviceScope.test(TaskController.class) && advice.supports(taskList, MappingJackson2HttpMessageConverter.class);
+    }
+
+    @Benchmark
+    public boolean legacyLoginResponse() {
+        return legacySupports(login);
+    }
+
+    @Benchmark
+    public boolean currentLoginResponse() {
+        return adviceScope.test(UserController.class) && advice.supports(login, MappingJackson2HttpMessageConverter.class);
+    }
+
+    private static boolean legacySupports(MethodParameter returnType) {
+        Class<?> declared = returnType.getParameterType();
+        if (UserAuthResponseDTO.class.isAssignableFrom(declared)) return true;
+
+        ResolvableType rt = ResolvableType.forMethodParameter(returnType);
+        if (rt.hasGenerics()) {
+            Class<?> generic = rt.getGeneric(0).resolve();
+            return generic != null && UserAuthResponseDTO.class.isAssignableFrom(generic);
+        }
+        return false;
+    }
+
+    private static MethodParameter returnType(Class<?> controller, String name) {
+        Method method = Arrays.stream(controller.getDeclaredMethods())
+                .filter(m -> m.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+        return new MethodParameter(method, -1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+
+    private TokenService tokenService;
+    private JWTVerifier verifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secretKey", SECRET);
+        verifier = JWT.require(Algorithm.HMAC256(SECRET)).withIssuer("backend-app").build();
+        token = tokenService.generateToken("benchmark-user", 42L, 0);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken("benchmark-user", 42L, 0);
+    }
+
+    @Benchmark
+    public String validateToken() {
+        return tokenService.validateToken(token);
+    }
+
+    /**
+     * Signature check without the verified-token cache, i.e. what validateToken
+     * costs on the first request carrying a token.
+     */
+    @Benchmark
+    public DecodedJWT verifyUncached() {
+        return verifier.verify(token);
+    }
+}
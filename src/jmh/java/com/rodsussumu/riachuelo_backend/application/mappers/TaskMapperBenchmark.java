@@ -0,0 +1,53 @@
+package com.rodsussumu.riachuelo_backend.application.mappers;
+
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.models.Task;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    @Param({"1", "1000"})
+    public int size;
+
+    private TaskMapper mapper;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        mapper = Mappers.getMapper(TaskMapper.class);
+        tasks = new ArrayList<>(size);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            tasks.add(Task.builder()
+                    .id((long) i)
+                    .title("Task " + i)
+                    .description("Description of task " + i)
+                    .createdAt(new Date(now - i * 60_000L))
+                    .dueDate(new Date(now + i * 60_000L))
+                    .status(StatusEnum.values()[i % StatusEnum.values().length])
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<TaskDTO> toDTOList() {
+        List<TaskDTO> result = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            result.add(mapper.toDTO(task));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,172 @@
+package com.rodsussumu.riachuelo_backend.application.loadtest;
+
+import com.rodsussumu.riachuelo_backend.application.config.TokenService;
+import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.models.Task;
+import com.rodsussumu.riachuelo_backend.application.models.User;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskQuery;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskRepository;
+import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Steps up the number of concurrent clients hitting GET /tasks and reports the
+ * highest level whose p95 stays within {@code loadtest.latencyTargetMs}.
+ * Subclasses boot the application with platform or virtual request threads so
+ * the two reports in target/ can be compared.
+ */
+@Tag("load")
+abstract class ConcurrencyLoadTest {
+
+    private static final int[] LEVELS = Arrays.stream(System.getProperty("loadtest.concurrency.levels", "25,50,100,200,400").split(","))
+            .mapToInt(level -> Integer.parseInt(level.trim()))
+            .toArray();
+    private static final Duration STEP = Duration.ofSeconds(Integer.getInteger("loadtest.concurrency.stepSeconds", 5));
+    private static final double LATENCY_TARGET_MS = Integer.getInteger("loadtest.latencyTargetMs", 250);
+    private static final int TASKS = 50;
+    private static final String ENDPOINT = "GET /tasks";
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    TokenService tokenService;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private User user;
+    private String token;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        LoadTestDatabase.register(registry);
+    }
+
+    abstract String mode();
+
+    @BeforeEach
+    void seed() {
+        user = userRepository.save(User.builder().username("concurrency-" + System.nanoTime()).password("x").build());
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(Task.builder()
+                    .title("Task " + i)
+                    .createdAt(new Date())
+                    .status(StatusEnum.PENDING)
+                    .user(user)
+                    .build());
+        }
+        taskRepository.insertAll(tasks);
+        token = tokenService.generateToken(user.getUsername(), user.getId(), user.getTokenVersion());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.bulkDelete(TaskQuery.builder().userId(user.getId()).build());
+        userRepository.delete(user);
+    }
+
+    @Test
+    void maxConcurrencyAtFixedLatency() throws Exception {
+        runLevel(LEVELS[0]);
+
+        List<EndpointStats> stats = new ArrayList<>();
+        int sustained = 0;
+        for (int level : LEVELS) {
+            EndpointStats result = runLevel(level);
+            stats.add(result);
+            if (result.p95() <= LATENCY_TARGET_MS && result.errors() == 0) {
+                sustained = level;
+            }
+        }
+        writeReport(stats, sustained);
+    }
+
+    private EndpointStats runLevel(int concurrency) throws Exception {
+        long deadline = System.nanoTime() + STEP.toNanos();
+        List<Future<LatencySample>> futures = new ArrayList<>(concurrency);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> loop(deadline)));
+            }
+        }
+        Map<String, List<Long>> latencies = new HashMap<>();
+        Map<String, Integer> errors = new HashMap<>();
+        for (Future<LatencySample> future : futures) {
+            future.get().mergeInto(latencies, errors);
+        }
+        return EndpointStats.of(Integer.toString(concurrency), latencies.getOrDefault(ENDPOINT, List.of()),
+                errors.getOrDefault(ENDPOINT, 0), STEP);
+    }
+
+    private LatencySample loop(long deadline) {
+        LatencySample sample = new LatencySample();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks?size=20"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (Exception e) {
+                ok = false;
+            }
+            sample.record(ENDPOINT, System.nanoTime() - start, ok);
+        }
+        return sample;
+    }
+
+    private void writeReport(List<EndpointStats> stats, int sustained) throws Exception {
+        StringBuilder report = new StringBuilder()
+                .append("# Concurrency: ").append(mode()).append("\n\n")
+                .append(String.format("GET /tasks?size=20, %ds per level, p95 target %.0f ms%n%n",
+                        STEP.toSeconds(), LATENCY_TARGET_MS))
+                .append("| Concurrency | Requests | Errors | Req/s | p50 ms | p95 ms | p99 ms | max ms |\n")
+                .append("|---|---|---|---|---|---|---|---|\n");
+        stats.forEach(s -> report.append(s.toRow()).append('\n'));
+        report.append(String.format("%nHighest concurrency within target: %d%n", sustained));
+
+        Path path = Path.of("target", "concurrency-" + mode() + ".md");
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, report, StandardCharsets.UTF_8);
+        System.out.println(report);
+    }
+}
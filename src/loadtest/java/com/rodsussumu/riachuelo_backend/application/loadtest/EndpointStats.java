@@ -0,0 +1,49 @@
+package com.rodsussumu.riachuelo_backend.application.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+record EndpointStats(
+        String endpoint,
+        int requests,
+        int errors,
+        double throughput,
+        double p50,
+        double p95,
+        double p99,
+        double max
+) {
+
+    static EndpointStats of(String endpoint, List<Long> nanos, int errors, Duration elapsed) {
+        long[] sorted = nanos.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return new EndpointStats(
+                endpoint,
+                sorted.length,
+                errors,
+                sorted.length / (elapsed.toMillis() / 1000.0),
+                millis(percentile(sorted, 0.50)),
+                millis(percentile(sorted, 0.95)),
+                millis(percentile(sorted, 0.99)),
+                millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1])
+        );
+    }
+
+    String toRow() {
+        return String.format("| %s | %d | %d | %.1f | %.2f | %.2f | %.2f | %.2f |",
+                endpoint, requests, errors, throughput, p50, p95, p99, max);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
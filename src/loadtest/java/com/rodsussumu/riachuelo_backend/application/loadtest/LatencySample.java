@@ -0,0 +1,30 @@
+package com.rodsussumu.riachuelo_backend.application.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per virtual user recording of request latencies and unexpected responses.
+ * Each user owns its sample, so recording needs no synchronization; samples
+ * are merged once the run is over.
+ */
+class LatencySample {
+
+    private final Map<String, List<Long>> latencies = new HashMap<>();
+    private final Map<String, Integer> errors = new HashMap<>();
+
+    void record(String endpoint, long nanos, boolean expected) {
+        latencies.computeIfAbsent(endpoint, k -> new ArrayList<>()).add(nanos);
+        if (!expected) {
+            errors.merge(endpoint, 1, Integer::sum);
+        }
+    }
+
+    void mergeInto(Map<String, List<Long>> allLatencies, Map<String, Integer> allErrors) {
+        latencies.forEach((endpoint, values) ->
+                allLatencies.computeIfAbsent(endpoint, k -> new ArrayList<>()).addAll(values));
+        errors.forEach((endpoint, count) -> allErrors.merge(endpoint, count, Integer::sum));
+    }
+}
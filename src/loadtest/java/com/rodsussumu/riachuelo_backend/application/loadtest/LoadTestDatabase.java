@@ -0,0 +1,50 @@
+package com.rodsussumu.riachuelo_backend.application.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Points load tests at {@code loadtest.datasource.url} when given, otherwise at
+ * an embedded Postgres started once per JVM and shared by every load test.
+ */
+final class LoadTestDatabase {
+
+    private static EmbeddedPostgres embeddedPostgres;
+
+    private LoadTestDatabase() {
+    }
+
+    static void register(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("loadtest.datasource.url");
+        if (url != null) {
+            registry.add("spring.datasource.url", () -> url);
+            registry.add("spring.datasource.username", () -> System.getProperty("loadtest.datasource.username", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("loadtest.datasource.password", "1234"));
+            return;
+        }
+        EmbeddedPostgres postgres = embedded();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    private static synchronized EmbeddedPostgres embedded() {
+        if (embeddedPostgres == null) {
+            try {
+                embeddedPostgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    embeddedPostgres.close();
+                } catch (IOException ignored) {
+                }
+            }));
+        }
+        return embeddedPostgres;
+    }
+}
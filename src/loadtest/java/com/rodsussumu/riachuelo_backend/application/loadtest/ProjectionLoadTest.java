@@ -0,0 +1,184 @@
+package com.rodsussumu.riachuelo_backend.application.loadtest;
+
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskSortEnum;
+import com.rodsussumu.riachuelo_backend.application.mappers.TaskMapper;
+import com.rodsussumu.riachuelo_backend.application.models.Task;
+import com.rodsussumu.riachuelo_backend.application.models.User;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskQuery;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskRepository;
+import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the read path GET /tasks uses, a read-only constructor projection
+ * into {@link TaskDTO}, with the entity path it replaced: managed {@link Task}
+ * entities in a read-write transaction, mapped through {@link TaskMapper}.
+ * Latency percentiles and bytes allocated per call go to
+ * target/projection-report.md.
+ *
+ * <p>Runs only with {@code -Ploadtest}, against the same database as
+ * {@link TaskApiLoadTest}. List size and iteration counts are tunable through
+ * the {@code loadtest.projection.*} system properties read below.
+ */
+@Tag("load")
+@SpringBootTest
+class ProjectionLoadTest {
+
+    private static final int TASKS = Integer.getInteger("loadtest.projection.tasks", 5_000);
+    private static final int WARMUP = Integer.getInteger("loadtest.projection.warmup", 20);
+    private static final int ITERATIONS = Integer.getInteger("loadtest.projection.iterations", 100);
+
+    private static final Path REPORT = Path.of("target", "projection-report.md");
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    TaskMapper taskMapper;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private User owner;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        LoadTestDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void seed() {
+        owner = userRepository.save(User.builder()
+                .username("projection-" + Long.toString(System.currentTimeMillis(), 36))
+                .password("x")
+                .build());
+
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(Task.builder()
+                    .title("Seeded task " + i)
+                    .description("Seeded for the projection comparison")
+                    .createdAt(new Date())
+                    .dueDate(new Date(System.currentTimeMillis() + i * 3_600_000L))
+                    .status(StatusEnum.values()[i % StatusEnum.values().length])
+                    .user(owner)
+                    .build());
+        }
+        taskRepository.insertAll(tasks);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.bulkDelete(TaskQuery.builder().userId(owner.getId()).build());
+        userRepository.delete(owner);
+    }
+
+    @Test
+    @DisplayName("the DTO projection returns the same rows as entity loading plus mapping")
+    void projectionVersusEntities() throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        Supplier<List<TaskDTO>> projection = () -> readOnly.execute(status -> taskRepository.search(
+                TaskQuery.builder().userId(owner.getId()).sort(TaskSortEnum.CREATED_AT_ASC).build()));
+        Supplier<List<TaskDTO>> entities = () -> readWrite.execute(status -> entityManager
+                .createQuery("select t from Task t where t.user.id = :userId order by t.createdAt, t.id", Task.class)
+                .setParameter("userId", owner.getId())
+                .getResultList()
+                .stream()
+                .map(taskMapper::toDTO)
+                .toList());
+
+        assertEquals(ids(entities.get()), ids(projection.get()));
+
+        List<String> rows = List.of(
+                measure("DTO projection, read-only", projection),
+                measure("Entities + TaskMapper, read-write", entities));
+        writeReport(rows);
+    }
+
+    private static List<Long> ids(List<TaskDTO> tasks) {
+        return tasks.stream().map(TaskDTO::id).toList();
+    }
+
+    private static String measure(String path, Supplier<List<TaskDTO>> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.get();
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] nanos = new long[ITERATIONS];
+        long allocated = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            read.get();
+            nanos[i] = System.nanoTime() - start;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        }
+        Arrays.sort(nanos);
+
+        return String.format("| %s | %.2f | %.2f | %.2f | %.1f |",
+                path,
+                millis(percentile(nanos, 0.50)),
+                millis(percentile(nanos, 0.95)),
+                millis(percentile(nanos, 0.99)),
+                allocated / (double) ITERATIONS / 1024);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static void writeReport(List<String> rows) throws IOException {
+        StringBuilder report = new StringBuilder()
+                .append("# Task list read path\n\n")
+                .append(String.format("%d tasks per read, %d reads measured after %d warmup reads%n%n",
+                        TASKS, ITERATIONS, WARMUP))
+                .append("| Path | p50 ms | p95 ms | p99 ms | KiB allocated per read |\n")
+                .append("|---|---|---|---|---|\n");
+        rows.forEach(row -> report.append(row).append('\n'));
+
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report, StandardCharsets.UTF_8);
+        System.out.println(report);
+    }
+}
@@ -0,0 +1,337 @@
+package com.rodsussumu.riachuelo_backend.application.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.models.Task;
+import com.rodsussumu.riachuelo_backend.application.models.User;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskQuery;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskRepository;
+import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives a login/list/create/update-status/delete mix over HTTP and reports
+ * latency percentiles and throughput per endpoint to target/load-test-report.md.
+ *
+ * <p>Runs only with {@code -Ploadtest}. The application boots against an
+ * embedded Postgres unless {@code loadtest.datasource.url} points at an
+ * existing database. Sizes are tunable through the {@code loadtest.*} system
+ * properties read below.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskApiLoadTest {
+
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 16);
+    private static final int USERS = Math.max(THREADS, Integer.getInteger("loadtest.users", 20));
+    private static final int TASKS_PER_USER = Integer.getInteger("loadtest.tasksPerUser", 50);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("loadtest.warmupSeconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 30));
+    private static final int INSERT_TASKS = Integer.getInteger("loadtest.insertTasks", 500);
+    private static final int INSERT_BATCH_SIZE = 100;
+
+    private static final String PASSWORD = "load-test";
+    private static final Path REPORT = Path.of("target", "load-test-report.md");
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final List<User> users = new ArrayList<>();
+    private final Map<Long, List<Long>> seededTaskIds = new HashMap<>();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        LoadTestDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void seed() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < USERS; i++) {
+            users.add(userRepository.save(User.builder().username("load-" + run + "-" + i).password(hash).build()));
+        }
+
+        List<Task> tasks = new ArrayList<>(USERS * TASKS_PER_USER);
+        for (User user : users) {
+            for (int i = 0; i < TASKS_PER_USER; i++) {
+                tasks.add(Task.builder()
+                        .title("Seeded task " + i)
+                        .description("Seeded for " + user.getUsername())
+                        .createdAt(new Date())
+                        .dueDate(new Date(System.currentTimeMillis() + i * 3_600_000L))
+                        .status(StatusEnum.values()[i % StatusEnum.values().length])
+                        .user(user)
+                        .build());
+            }
+        }
+        taskRepository.insertAll(tasks);
+        for (Task task : tasks) {
+            seededTaskIds.computeIfAbsent(task.getUser().getId(), k -> new ArrayList<>()).add(task.getId());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (User user : users) {
+            taskRepository.bulkDelete(TaskQuery.builder().userId(user.getId()).build());
+        }
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    @DisplayName("mixed traffic stays error free and reports percentiles per endpoint")
+    void mixedTraffic() throws Exception {
+        List<VirtualUser> virtualUsers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            virtualUsers.add(new VirtualUser(users.get(i), i));
+        }
+
+        run(virtualUsers, WARMUP);
+        Map<String, List<Long>> latencies = new TreeMap<>();
+        Map<String, Integer> errors = new TreeMap<>();
+        for (LatencySample sample : run(virtualUsers, DURATION)) {
+            sample.mergeInto(latencies, errors);
+        }
+
+        List<EndpointStats> stats = new ArrayList<>();
+        latencies.forEach((endpoint, values) ->
+                stats.add(EndpointStats.of(endpoint, values, errors.getOrDefault(endpoint, 0), DURATION)));
+
+        Map<String, Double> insertThroughput = measureInserts();
+        writeReport(stats, insertThroughput);
+
+        assertEquals(Map.of(), errors, "unexpected responses per endpoint");
+    }
+
+    private List<LatencySample> run(List<VirtualUser> virtualUsers, Duration duration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long deadline = System.nanoTime() + duration.toNanos();
+            List<Future<LatencySample>> futures = new ArrayList<>();
+            for (VirtualUser virtualUser : virtualUsers) {
+                futures.add(executor.submit(() -> virtualUser.runUntil(deadline)));
+            }
+            List<LatencySample> samples = new ArrayList<>();
+            for (Future<LatencySample> future : futures) {
+                samples.add(future.get());
+            }
+            return samples;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates the same number of tasks through POST /tasks and POST /tasks/batch
+     * from a single client, reporting tasks per second for each.
+     */
+    private Map<String, Double> measureInserts() throws Exception {
+        User user = users.get(users.size() - 1);
+        String token = login(user, new LatencySample());
+        Map<String, Double> result = new LinkedHashMap<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < INSERT_TASKS; i++) {
+            send(post("/tasks", token, taskJson("Single " + i)));
+        }
+        result.put("POST /tasks", INSERT_TASKS / seconds(System.nanoTime() - start));
+
+        start = System.nanoTime();
+        for (int offset = 0; offset < INSERT_TASKS; offset += INSERT_BATCH_SIZE) {
+            StringJoiner batch = new StringJoiner(",", "[", "]");
+            for (int i = offset; i < Math.min(offset + INSERT_BATCH_SIZE, INSERT_TASKS); i++) {
+                batch.add(taskJson("Batched " + i));
+            }
+            send(post("/tasks/batch", token, batch.toString()));
+        }
+        result.put("POST /tasks/batch (" + INSERT_BATCH_SIZE + " per request)", INSERT_TASKS / seconds(System.nanoTime() - start));
+        return result;
+    }
+
+    private void writeReport(List<EndpointStats> stats, Map<String, Double> insertThroughput) throws IOException {
+        StringBuilder report = new StringBuilder()
+                .append("# Load test\n\n")
+                .append(String.format("%d users x %d tasks, %d threads, %ds measured after %ds warmup%n%n",
+                        USERS, TASKS_PER_USER, THREADS, DURATION.toSeconds(), WARMUP.toSeconds()))
+                .append("| Endpoint | Requests | Errors | Req/s | p50 ms | p95 ms | p99 ms | max ms |\n")
+                .append("|---|---|---|---|---|---|---|---|\n");
+        stats.forEach(s -> report.append(s.toRow()).append('\n'));
+
+        report.append(String.format("%n## Insert throughput (%d tasks)%n%n", INSERT_TASKS))
+                .append("| Endpoint | Tasks/s |\n")
+                .append("|---|---|\n");
+        insertThroughput.forEach((endpoint, rate) ->
+                report.append(String.format("| %s | %.1f |%n", endpoint, rate)));
+
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report, StandardCharsets.UTF_8);
+        System.out.println(report);
+    }
+
+    private String login(User user, LatencySample sample) throws Exception {
+        String body = "{\"username\":\"" + user.getUsername() + "\",\"password\":\"" + PASSWORD + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(uri("/auth/login"))
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = timed(sample, "POST /auth/login", request, 200);
+        return response.headers().allValues(HttpHeaders.SET_COOKIE).stream()
+                .filter(cookie -> cookie.startsWith("ACCESS_TOKEN="))
+                .map(cookie -> cookie.substring("ACCESS_TOKEN=".length(), cookie.indexOf(';')))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("login did not return a token"));
+    }
+
+    private HttpResponse<String> timed(LatencySample sample, String endpoint, HttpRequest request, int expected) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = send(request);
+        sample.record(endpoint, System.nanoTime() - start, response.statusCode() == expected);
+        return response;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path, String token) {
+        return authorized(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        return authorized(path, token)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest patch(String path, String token, String json) {
+        return authorized(path, token)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest delete(String path, String token) {
+        return authorized(path, token).DELETE().build();
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        return HttpRequest.newBuilder(uri(path)).header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String taskJson(String title) {
+        return "{\"title\":\"" + title + "\",\"description\":\"load test\"}";
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    /**
+     * One simulated client with a user of its own: logs in, then issues a
+     * weighted mix of requests against that user's tasks until the deadline.
+     */
+    private class VirtualUser {
+
+        private final User user;
+        private final Random random;
+        private final List<Long> taskIds;
+        private LatencySample sample;
+        private String token;
+
+        VirtualUser(User user, long seed) {
+            this.user = user;
+            this.random = new Random(seed);
+            this.taskIds = new ArrayList<>(seededTaskIds.get(user.getId()));
+        }
+
+        LatencySample runUntil(long deadline) throws Exception {
+            sample = new LatencySample();
+            token = login(user, sample);
+            while (System.nanoTime() < deadline) {
+                int roll = random.nextInt(100);
+                if (roll < 5) {
+                    token = login(user, sample);
+                } else if (roll < 50 || taskIds.isEmpty()) {
+                    timed(sample, "GET /tasks", get("/tasks", token), 200);
+                } else if (roll < 70) {
+                    create();
+                } else if (roll < 90) {
+                    updateStatus();
+                } else {
+                    deleteTask();
+                }
+            }
+            return sample;
+        }
+
+        private void create() throws Exception {
+            HttpResponse<String> response = timed(sample, "POST /tasks",
+                    post("/tasks", token, taskJson("Load " + random.nextInt())), 201);
+            if (response.statusCode() == 201) {
+                taskIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+            }
+        }
+
+        private void updateStatus() throws Exception {
+            Long id = taskIds.get(random.nextInt(taskIds.size()));
+            StatusEnum status = StatusEnum.values()[random.nextInt(StatusEnum.values().length)];
+            timed(sample, "PATCH /tasks/{id}/status",
+                    patch("/tasks/" + id + "/status", token, "{\"status\":\"" + status + "\"}"), 200);
+        }
+
+        private void deleteTask() throws Exception {
+            Long id = taskIds.remove(random.nextInt(taskIds.size()));
+            timed(sample, "DELETE /tasks/{id}", delete("/tasks/" + id, token), 204);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.rodsussumu.riachuelo_backend.application.loadtest;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true"
+)
+class VirtualThreadConcurrencyLoadTest extends ConcurrencyLoadTest {
+
+    @Override
+    String mode() {
+        return "virtual-threads";
+    }
+}
@@ -1,5 +1,6 @@
 package com.rodsussumu.riachuelo_backend.application.config;
 
+import com.rodsussumu.riachuelo_backend.application.controllers.UserController;
 import com.rodsussumu.riachuelo_backend.application.dtos.UserAuthResponseDTO;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
@@ -12,22 +13,35 @@ import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-@RestControllerAdvice
+@RestControllerAdvice(assignableTypes = UserController.class)
 public class AuthCookieAdvice implements ResponseBodyAdvice<Object> {
 
     private static final String COOKIE_NAME = "ACCESS_TOKEN";
     private static final Duration TTL = Duration.ofSeconds(6000);
 
+    private final Map<Method, Boolean> applicability = new ConcurrentHashMap<>();
+
     @Override
     public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
-        Class<?> declared = returnType.getParameterType();
-        if (UserAuthResponseDTO.class.isAssignableFrom(declared)) return true;
+        Method method = returnType.getMethod();
+        if (method == null) {
+            return carriesAuthResponse(returnType);
+        }
+        return applicability.computeIfAbsent(method, m -> carriesAuthResponse(returnType));
+    }
 
-        ResolvableType rt = ResolvableType.forMethodParameter(returnType);
-        if (rt.hasGenerics()) {
-            Class<?> generic = rt.getGeneric(0).resolve();
+    private static boolean carriesAuthResponse(MethodParameter returnType) {
+        if (UserAuthResponseDTO.class.isAssignableFrom(returnType.getParameterType())) {
+            return true;
+        }
+        ResolvableType type = ResolvableType.forMethodParameter(returnType);
+        if (type.hasGenerics()) {
+            Class<?> generic = type.getGeneric(0).resolve();
             return generic != null && UserAuthResponseDTO.class.isAssignableFrom(generic);
         }
         return false;
@@ -42,9 +56,8 @@ public class AuthCookieAdvice implements ResponseBodyAdvice<Object> {
             ServerHttpRequest request,
             ServerHttpResponse response
     ) {
-        String token = TokenHolder.getToken();
-        if (token != null) {
-            ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, token)
+        if (body instanceof UserAuthResponseDTO auth && auth.token() != null) {
+            ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, auth.token())
                     .httpOnly(true)
                     .secure(true) // ⚠️ em produção
                     .sameSite("None")
@@ -52,8 +65,6 @@ public class AuthCookieAdvice implements ResponseBodyAdvice<Object> {
                     .maxAge(TTL)
                     .build();
             response.getHeaders().add(HttpHeaders.SET_COOKIE, cookie.toString());
-
-            TokenHolder.clear();
         }
         return body;
     }
@@ -0,0 +1,43 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+public record AuthenticatedUser(
+        Long id,
+        String username,
+        String password,
+        int tokenVersion
+) implements UserDetails {
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+
+    /**
+     * The same principal without the password hash, which only authentication
+     * itself needs; this is what goes into the security context.
+     */
+    public AuthenticatedUser withoutPassword() {
+        return password == null ? this : new AuthenticatedUser(id, username, null, tokenVersion);
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", username=" + username + "]";
+    }
+}
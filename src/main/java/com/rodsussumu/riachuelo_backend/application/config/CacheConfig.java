@@ -0,0 +1,15 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(CacheInvalidationChannel.class)
+    public CacheInvalidationChannel cacheInvalidationChannel() {
+        return new LocalCacheInvalidationChannel();
+    }
+}
@@ -0,0 +1,16 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import java.util.List;
+
+/**
+ * Tells the other nodes which second-level cache entries went stale. A {@code null}
+ * {@code ids} list drops the whole entity region; {@code queryRegion}, when set, is
+ * dropped as well because query results are only invalidated locally.
+ */
+public record CacheInvalidation(
+        String origin,
+        String entityName,
+        List<Long> ids,
+        String queryRegion
+) {
+}
@@ -0,0 +1,15 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport between application nodes for second-level cache invalidations.
+ * Multi-node deployments declare their own bean (Redis pub/sub, Postgres
+ * LISTEN/NOTIFY, a message broker) and it replaces the single-node default.
+ */
+public interface CacheInvalidationChannel {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
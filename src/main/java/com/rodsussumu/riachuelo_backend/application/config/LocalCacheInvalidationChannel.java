@@ -0,0 +1,18 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import java.util.function.Consumer;
+
+/**
+ * Single-node channel: Hibernate already keeps the local regions consistent,
+ * so there is nobody else to notify.
+ */
+public class LocalCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+    }
+}
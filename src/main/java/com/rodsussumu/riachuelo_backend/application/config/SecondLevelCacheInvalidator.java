@@ -0,0 +1,68 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import com.rodsussumu.riachuelo_backend.application.events.TaskChangedEvent;
+import com.rodsussumu.riachuelo_backend.application.events.UserChangedEvent;
+import com.rodsussumu.riachuelo_backend.application.models.Task;
+import com.rodsussumu.riachuelo_backend.application.models.User;
+import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Hibernate evicts the entries this node changed; this forwards the same
+ * evictions to the other nodes once the change is committed, and applies the
+ * ones they send. Bulk statements carry no ids, so they drop the whole region.
+ */
+@Component
+public class SecondLevelCacheInvalidator {
+
+    static final String TASK = Task.class.getName();
+    static final String USER = User.class.getName();
+    private static final Set<String> CACHED_ENTITIES = Set.of(TASK, USER);
+
+    private final String origin = UUID.randomUUID().toString();
+    private final Cache cache;
+    private final CacheInvalidationChannel channel;
+
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory, CacheInvalidationChannel channel) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.channel = channel;
+        channel.subscribe(this::apply);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        channel.publish(new CacheInvalidation(origin, TASK, event.taskIds(), null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        List<Long> ids = event.userId() != null ? List.of(event.userId()) : null;
+        channel.publish(new CacheInvalidation(origin, USER, ids, UserRepository.USERS_BY_USERNAME_REGION));
+    }
+
+    void apply(CacheInvalidation invalidation) {
+        if (origin.equals(invalidation.origin()) || !CACHED_ENTITIES.contains(invalidation.entityName())) {
+            return;
+        }
+        if (invalidation.ids() == null) {
+            cache.evictEntityData(invalidation.entityName());
+        } else {
+            invalidation.ids().forEach(id -> cache.evictEntityData(invalidation.entityName(), id));
+        }
+        if (invalidation.queryRegion() != null) {
+            cache.evictQueryRegion(invalidation.queryRegion());
+        }
+    }
+
+    String origin() {
+        return origin;
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,10 +23,19 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final boolean statelessPrincipal;
 
-    public SecurityFilter(TokenService tokenService, UserDetailsService userDetailsService) {
+    public SecurityFilter(
+            TokenService tokenService,
+            UserDetailsService userDetailsService,
+            TokenVersionRegistry tokenVersionRegistry,
+            @Value("${security.stateless-principal:false}") boolean statelessPrincipal
+    ) {
         this.tokenService = tokenService;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
@@ -42,12 +52,28 @@ public class SecurityFilter extends OncePerRequestFilter {
         }
 
         String token = this.recoverToken(request);
+        if (token != null && statelessPrincipal) {
+            VerifiedToken verified = tokenService.verify(token);
+            if (verified != null && verified.userId() != null) {
+                if (tokenVersionRegistry.isCurrent(verified.userId(), verified.tokenVersion())) {
+                    AuthenticatedUser user = new AuthenticatedUser(verified.userId(), verified.subject(), null, verified.tokenVersion());
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+                }
+                filterChain.doFilter(request, response);
+                return;
+            }
+        }
+
         if(token != null){
             String username = tokenService.validateToken(token);
             if (username != null) {
                 UserDetails user = userDetailsService.loadUserByUsername(username);
 
-                if (user != null) {
+                if (user != null && isCurrentVersion(user, token)) {
+                    if (user instanceof AuthenticatedUser authenticated) {
+                        user = authenticated.withoutPassword();
+                    }
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                     Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -57,7 +83,20 @@ public class SecurityFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String recoverToken(HttpServletRequest request){
+    /**
+     * A loaded user whose token version was bumped only accepts tokens issued at
+     * that version or later; users never revoked skip the claim lookup.
+     */
+    private boolean isCurrentVersion(UserDetails user, String token) {
+        if (!(user instanceof AuthenticatedUser authenticated) || authenticated.tokenVersion() == 0) {
+            return true;
+        }
+        VerifiedToken verified = tokenService.verify(token);
+        return verified != null && verified.tokenVersion() != null
+                && verified.tokenVersion() >= authenticated.tokenVersion();
+    }
+
+    String recoverToken(HttpServletRequest request){
         if (request.getCookies() != null) {
             for (Cookie c : request.getCookies()) {
                 if ("ACCESS_TOKEN".equals(c.getName())) {
@@ -1,17 +0,0 @@
-package com.rodsussumu.riachuelo_backend.application.config;
-
-public class TokenHolder {
-    private static final ThreadLocal<String> TOKEN = new ThreadLocal<>();
-
-    public static void setToken(String token) {
-        TOKEN.set(token);
-    }
-
-    public static String getToken() {
-        return TOKEN.get();
-    }
-
-    public static void clear() {
-        TOKEN.remove();
-    }
-}
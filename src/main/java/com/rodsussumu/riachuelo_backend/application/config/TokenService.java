@@ -1,52 +1,111 @@
 package com.rodsussumu.riachuelo_backend.application.config;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.GenerateTokenException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 
 @Service
-public class TokenService {
+public class TokenService implements MeterBinder {
 
     @Value("${security.token}")
     private String secretKey;
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private static final String ISSUER = "backend-app";
     private static final int EXPIRES_IN = 6000;
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    private final VerifiedTokenCache verifiedTokens = new VerifiedTokenCache(MAX_CACHED_TOKENS);
+
+    private volatile Algorithm algorithm;
+    private volatile JWTVerifier verifier;
 
     public String generateToken(String username) {
-        try {
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
+        return generateToken(username, null, 0);
+    }
 
+    public String generateToken(String username, Long userId, int tokenVersion) {
+        try {
             Instant now = Instant.now();
 
-            return JWT.create()
-                    .withIssuer("backend-app")
+            JWTCreator.Builder builder = JWT.create()
+                    .withIssuer(ISSUER)
                     .withSubject(username)
-                    .withExpiresAt(now.plusSeconds(EXPIRES_IN))
-                    .sign(algorithm);
+                    .withExpiresAt(now.plusSeconds(EXPIRES_IN));
 
+            if (userId != null) {
+                builder.withClaim(USER_ID_CLAIM, userId)
+                        .withClaim(TOKEN_VERSION_CLAIM, tokenVersion);
+            }
 
+            return builder.sign(algorithm());
         } catch(JWTCreationException exception){
             throw new GenerateTokenException();
         }
     }
 
     public String validateToken(String token) {
-        try {
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
+        VerifiedToken verified = verify(token);
+        return verified != null ? verified.subject() : "";
+    }
+
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            return cached;
+        }
 
-            return JWT.require(algorithm)
-                    .withIssuer("backend-app")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+        try {
+            DecodedJWT decoded = verifier().verify(token);
+            VerifiedToken verified = new VerifiedToken(
+                    decoded.getSubject(),
+                    decoded.getClaim(USER_ID_CLAIM).asLong(),
+                    decoded.getClaim(TOKEN_VERSION_CLAIM).asInt(),
+                    decoded.getExpiresAtAsInstant()
+            );
+            verifiedTokens.put(token, verified);
+            return verified;
         } catch(JWTVerificationException exception) {
-            return "";
+            return null;
+        }
+    }
+
+    /** Publishes the verified-token cache's hit, miss, eviction and size meters. */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        verifiedTokens.bindTo(registry, "verifiedTokens");
+    }
+
+    private Algorithm algorithm() {
+        Algorithm current = algorithm;
+        if (current == null) {
+            current = Algorithm.HMAC256(secretKey);
+            algorithm = current;
+        }
+        return current;
+    }
+
+    private JWTVerifier verifier() {
+        JWTVerifier current = verifier;
+        if (current == null) {
+            current = JWT.require(algorithm())
+                    .withIssuer(ISSUER)
+                    .build();
+            verifier = current;
         }
+        return current;
     }
 }
@@ -0,0 +1,59 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
+import com.rodsussumu.riachuelo_backend.application.repositories.UserTokenVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+
+    private volatile Map<Long, Integer> minimumVersions = Map.of();
+
+    public TokenVersionRegistry(
+            UserRepository userRepository,
+            @Value("${security.stateless-principal:false}") boolean enabled
+    ) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        int version = tokenVersion != null ? tokenVersion : 0;
+        return version >= minimumVersions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Applies a version bump committed on this node right away; other nodes see it
+     * on their next refresh.
+     */
+    public synchronized void revoke(Long userId, int tokenVersion) {
+        Map<Long, Integer> next = new HashMap<>(minimumVersions);
+        next.merge(userId, tokenVersion, Math::max);
+        minimumVersions = Map.copyOf(next);
+    }
+
+    @Scheduled(fixedDelayString = "${security.token-versions.refresh-ms:30000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, Integer> next = new HashMap<>();
+        for (UserTokenVersion version : userRepository.findRevokedTokenVersions()) {
+            next.put(version.getId(), version.getTokenVersion());
+        }
+        synchronized (this) {
+            // Versions only grow; keeping the larger one stops a snapshot read before
+            // a local revoke from undoing it.
+            minimumVersions.forEach((userId, version) -> next.merge(userId, version, Math::max));
+            minimumVersions = Map.copyOf(next);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import java.time.Instant;
+
+public record VerifiedToken(
+        String subject,
+        Long userId,
+        Integer tokenVersion,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,89 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verified tokens keyed by their SHA-256, each kept until its own {@code exp}.
+ * Caffeine bounds the size and evicts in amortized constant time, so a full
+ * cache costs a miss no more than an empty one.
+ */
+public class VerifiedTokenCache {
+
+    private final Clock clock;
+    private final Cache<String, VerifiedToken> entries;
+
+    public VerifiedTokenCache(int maxEntries) {
+        this(maxEntries, Clock.systemUTC());
+    }
+
+    public VerifiedTokenCache(int maxEntries, Clock clock) {
+        this.clock = clock;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new UntilExpiresAt())
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    public VerifiedToken get(String token) {
+        return entries.getIfPresent(hash(token));
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (verified.expiresAt() == null || !clock.instant().isBefore(verified.expiresAt())) {
+            return;
+        }
+        entries.put(hash(token), verified);
+    }
+
+    public int size() {
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        CaffeineCacheMetrics.monitor(registry, entries, name);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final class UntilExpiresAt implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken verified, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), verified.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, verified, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
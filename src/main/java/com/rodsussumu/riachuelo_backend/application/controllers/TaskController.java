@@ -1,26 +1,101 @@
 package com.rodsussumu.riachuelo_backend.application.controllers;
+import com.rodsussumu.riachuelo_backend.application.config.AuthenticatedUser;
+import com.rodsussumu.riachuelo_backend.application.dtos.BulkOperationResultDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.BulkStatusUpdateRequestDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.StatusUpdateRequestDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskBatchResultDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskFilterDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskPageDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.TaskRequestDTO;
+import com.rodsussumu.riachuelo_backend.application.enums.ExportFormatEnum;
 import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskSortEnum;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidTokenException;
 import com.rodsussumu.riachuelo_backend.application.services.TaskService;
+import com.rodsussumu.riachuelo_backend.application.utils.TaskChangeTracker;
+import com.rodsussumu.riachuelo_backend.application.utils.TaskETag;
+import com.rodsussumu.riachuelo_backend.application.utils.TaskEventStream;
+import com.rodsussumu.riachuelo_backend.application.utils.TaskListCache;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.apache.coyote.BadRequestException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.List;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/tasks")
 @Tag(name = "Tasks")
 public class TaskController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final Pattern DATE_ONLY = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+
     private final TaskService taskService;
+    private final TaskListCache taskListCache;
+    private final TaskChangeTracker taskChangeTracker;
+    private final TaskEventStream taskEventStream;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(
+            TaskService taskService,
+            TaskListCache taskListCache,
+            TaskChangeTracker taskChangeTracker,
+            TaskEventStream taskEventStream
+    ) {
         this.taskService = taskService;
+        this.taskListCache = taskListCache;
+        this.taskChangeTracker = taskChangeTracker;
+        this.taskEventStream = taskEventStream;
+    }
+
+    /**
+     * Sets the ETag and answers {@code If-None-Match}; {@code no-cache} keeps clients
+     * revalidating instead of Spring Security's {@code no-store}.
+     */
+    private boolean notModified(ServletWebRequest request, String etag) {
+        if (etag == null || request.getResponse() == null) {
+            return false;
+        }
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        return request.checkNotModified(etag);
+    }
+
+    /**
+     * A date-only {@code dueTo} binds to that day's midnight but means the whole
+     * day, so it becomes an exclusive bound at the next midnight.
+     */
+    private static TaskFilterDTO.TaskFilterDTOBuilder dueRange(WebRequest request, Date dueFrom, Date dueTo) {
+        TaskFilterDTO.TaskFilterDTOBuilder filter = TaskFilterDTO.builder().dueFrom(dueFrom);
+        String raw = request.getParameter("dueTo");
+        if (dueTo == null || raw == null || !DATE_ONLY.matcher(raw.trim()).matches()) {
+            return filter.dueTo(dueTo);
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        return filter.dueBefore(Date.from(dueTo.toInstant().atZone(zone).toLocalDate()
+                .plusDays(1).atStartOfDay(zone).toInstant()));
     }
 
     @PostMapping
@@ -31,35 +106,162 @@ public class TaskController {
                 .body(created);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<TaskBatchResultDTO> createBatch(@RequestBody List<TaskRequestDTO> dtos) {
+        return ResponseEntity.ok(taskService.createBatch(dtos));
+    }
+
     @GetMapping
-    public ResponseEntity<List<TaskDTO>> list(
+    @ApiResponse(responseCode = "200", content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = TaskDTO.class))))
+    public ResponseEntity<?> list(
+            @AuthenticationPrincipal Object principal,
+            @RequestParam(required = false) StatusEnum status,
+            @RequestParam(required = false, name = "sort") String sort,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME, fallbackPatterns = "yyyy-MM-dd") Date dueFrom,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME, fallbackPatterns = "yyyy-MM-dd") Date dueTo,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            ServletWebRequest request
+    ) {
+        TaskSortEnum order = TaskSortEnum.fromParam(sort);
+        // The list ETag is the user's task version, so this check reads no rows.
+        if (principal instanceof AuthenticatedUser user && notModified(request, taskChangeTracker.etag(user.id()))) {
+            return null;
+        }
+        TaskFilterDTO filter = dueRange(request, dueFrom, dueTo)
+                .status(status)
+                .sort(sort)
+                .build();
+
+        if (page == null && size == null && cursor == null) {
+            if (principal instanceof AuthenticatedUser user && dueFrom == null && dueTo == null) {
+                byte[] body = taskListCache.get(user.id(), status, order,
+                        () -> taskService.listAll(filter));
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+            }
+            return ResponseEntity.ok(taskService.listAll(filter));
+        }
+
+        TaskPageDTO result = taskService.listPage(filter, page, size, cursor);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, result.nextCursor());
+        }
+        if (result.totalElements() != null) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(result.totalElements()));
+        }
+        return response.body(result.items());
+    }
+
+    /**
+     * Headers are only set once the caller and every parameter are known to be
+     * good, so a rejected request gets a plain JSON error, not an attachment.
+     */
+    @GetMapping("/export")
+    public void export(
+            @AuthenticationPrincipal Object principal,
+            @RequestParam(required = false) String format,
             @RequestParam(required = false) StatusEnum status,
-            @RequestParam(required = false, name = "sort") String sort
+            @RequestParam(required = false, name = "sort") String sort,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME, fallbackPatterns = "yyyy-MM-dd") Date dueFrom,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME, fallbackPatterns = "yyyy-MM-dd") Date dueTo,
+            WebRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        if (principal == null) {
+            throw new InvalidTokenException();
+        }
+        ExportFormatEnum exportFormat = ExportFormatEnum.fromParam(format);
+        TaskSortEnum order = TaskSortEnum.fromParam(sort);
+        TaskFilterDTO filter = dueRange(request, dueFrom, dueTo)
+                .status(status)
+                .sort(order.getParam())
+                .build();
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("tasks." + exportFormat.getParam())
+                .build()
+                .toString());
+        taskService.export(filter, exportFormat, response.getWriter());
+    }
+
+    /**
+     * Pushes the user's committed task changes; browsers resume with
+     * {@code Last-Event-ID} after a disconnect.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @AuthenticationPrincipal Object principal,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
     ) {
-        return ResponseEntity.ok(taskService.listAll(status, sort));
+        if (!(principal instanceof AuthenticatedUser user)) {
+            throw new InvalidTokenException();
+        }
+        return taskEventStream.subscribe(user.id(), lastEventId);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<TaskDTO> listById(
-        @PathVariable Long id
+        @PathVariable Long id,
+        ServletWebRequest request
     ) {
-        return ResponseEntity.ok(taskService.listById(id));
+        TaskDTO task = taskService.listById(id);
+        if (notModified(request, TaskETag.of(task.version()))) {
+            return null;
+        }
+        return ResponseEntity.ok(task);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<TaskDTO> update(
         @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody TaskRequestDTO dto
     ) {
-        return ResponseEntity.ok(taskService.updateTask(id, dto));
+        TaskDTO updated = taskService.updateTask(id, dto, ifMatch);
+        return ResponseEntity.ok().eTag(TaskETag.of(updated.version())).body(updated);
     }
 
     @PatchMapping("/{id}/status")
     public ResponseEntity<TaskDTO> updateStatus(
         @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody StatusUpdateRequestDTO statusUpdateRequest
     ) throws BadRequestException {
-        return ResponseEntity.ok(taskService.updateStatus(id, statusUpdateRequest.status()));
+        TaskDTO updated = taskService.updateStatus(id, statusUpdateRequest.status(), ifMatch);
+        return ResponseEntity.ok().eTag(TaskETag.of(updated.version())).body(updated);
+    }
+
+    @PatchMapping("/status")
+    public ResponseEntity<BulkOperationResultDTO> updateStatusBulk(
+        @RequestBody BulkStatusUpdateRequestDTO request
+    ) {
+        return ResponseEntity.ok(taskService.updateStatusBulk(request));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<BulkOperationResultDTO> deleteBulk(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) StatusEnum status,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME, fallbackPatterns = "yyyy-MM-dd") Date dueFrom,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME, fallbackPatterns = "yyyy-MM-dd") Date dueTo,
+            WebRequest request
+    ) {
+        TaskFilterDTO filter = dueRange(request, dueFrom, dueTo)
+                .status(status)
+                .build();
+        return ResponseEntity.ok(taskService.deleteBulk(ids, filter));
     }
 
     @DeleteMapping("/{id}")
@@ -1,14 +1,18 @@
 package com.rodsussumu.riachuelo_backend.application.controllers;
 
+import com.rodsussumu.riachuelo_backend.application.config.AuthenticatedUser;
 import com.rodsussumu.riachuelo_backend.application.dtos.UserAuthDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.UserAuthResponseDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.UserRegisterResponseDTO;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidTokenException;
 import com.rodsussumu.riachuelo_backend.application.services.UserService;
+import com.rodsussumu.riachuelo_backend.application.utils.CookieHelper;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Duration;
@@ -21,9 +25,11 @@ public class UserController {
     private static final Duration TOKEN_TTL = Duration.ofSeconds(6000);
 
     private final UserService userService;
+    private final CookieHelper cookieHelper;
 
-    UserController(UserService userService) {
+    UserController(UserService userService, CookieHelper cookieHelper) {
         this.userService = userService;
+        this.cookieHelper = cookieHelper;
     }
 
     @PostMapping("register")
@@ -40,6 +46,21 @@ public class UserController {
                 .body(response);
     }
 
+    /**
+     * Revokes every token issued to the caller, on all devices, and clears this
+     * browser's cookie.
+     */
+    @PostMapping("logout-all")
+    public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal Object principal) {
+        if (!(principal instanceof AuthenticatedUser user)) {
+            throw new InvalidTokenException();
+        }
+        userService.revokeTokens(user.id());
+        return ResponseEntity.noContent()
+                .header(HttpHeaders.SET_COOKIE, cookieHelper.clearCookie(true).toString())
+                .build();
+    }
+
     @GetMapping("me")
     public ResponseEntity<UserAuthResponseDTO> me(Authentication authentication) {
         boolean ok = authentication != null && authentication.isAuthenticated();
@@ -0,0 +1,8 @@
+package com.rodsussumu.riachuelo_backend.application.dtos;
+
+import lombok.Builder;
+
+@Builder
+public record BulkOperationResultDTO(
+        int affected
+) {}
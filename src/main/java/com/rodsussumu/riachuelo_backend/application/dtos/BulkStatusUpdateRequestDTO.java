@@ -0,0 +1,12 @@
+package com.rodsussumu.riachuelo_backend.application.dtos;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BulkStatusUpdateRequestDTO(
+        List<Long> ids,
+        TaskFilterDTO filter,
+        String status
+) {}
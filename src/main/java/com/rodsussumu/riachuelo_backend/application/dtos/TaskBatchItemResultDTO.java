@@ -0,0 +1,10 @@
+package com.rodsussumu.riachuelo_backend.application.dtos;
+
+import lombok.Builder;
+
+@Builder
+public record TaskBatchItemResultDTO(
+        int index,
+        Long id,
+        String error
+) {}
@@ -0,0 +1,12 @@
+package com.rodsussumu.riachuelo_backend.application.dtos;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record TaskBatchResultDTO(
+        int created,
+        int rejected,
+        List<TaskBatchItemResultDTO> items
+) {}
@@ -11,5 +11,6 @@ public record TaskDTO(
         String description,
         Date createdAt,
         Date dueDate,
-        StatusEnum status
+        StatusEnum status,
+        Long version
 ) {}
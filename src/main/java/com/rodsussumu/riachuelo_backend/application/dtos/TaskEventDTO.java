@@ -0,0 +1,12 @@
+package com.rodsussumu.riachuelo_backend.application.dtos;
+
+import com.rodsussumu.riachuelo_backend.application.enums.TaskChangeTypeEnum;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record TaskEventDTO(
+        TaskChangeTypeEnum type,
+        List<Long> taskIds
+) {}
@@ -0,0 +1,15 @@
+package com.rodsussumu.riachuelo_backend.application.dtos;
+
+import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import lombok.Builder;
+
+import java.util.Date;
+
+@Builder
+public record TaskFilterDTO(
+        StatusEnum status,
+        String sort,
+        Date dueFrom,
+        Date dueTo,
+        Date dueBefore
+) {}
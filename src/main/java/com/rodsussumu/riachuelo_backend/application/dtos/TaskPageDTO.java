@@ -0,0 +1,12 @@
+package com.rodsussumu.riachuelo_backend.application.dtos;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record TaskPageDTO(
+        List<TaskDTO> items,
+        String nextCursor,
+        Long totalElements
+) {}
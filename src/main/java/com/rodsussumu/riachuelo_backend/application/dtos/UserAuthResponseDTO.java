@@ -1,9 +1,11 @@
 package com.rodsussumu.riachuelo_backend.application.dtos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 
 @Builder
 public record UserAuthResponseDTO(
     String username,
-    boolean authenticated
+    boolean authenticated,
+    @JsonIgnore String token
 ) { }
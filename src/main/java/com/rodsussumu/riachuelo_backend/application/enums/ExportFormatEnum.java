@@ -0,0 +1,36 @@
+package com.rodsussumu.riachuelo_backend.application.enums;
+
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidExportFormatException;
+
+public enum ExportFormatEnum {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String param;
+    private final String contentType;
+
+    ExportFormatEnum(String param, String contentType) {
+        this.param = param;
+        this.contentType = contentType;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ExportFormatEnum fromParam(String param) {
+        if (param == null) {
+            return NDJSON;
+        }
+        for (ExportFormatEnum format : values()) {
+            if (format.param.equalsIgnoreCase(param)) {
+                return format;
+            }
+        }
+        throw new InvalidExportFormatException();
+    }
+}
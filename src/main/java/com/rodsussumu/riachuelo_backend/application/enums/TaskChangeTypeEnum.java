@@ -0,0 +1,8 @@
+package com.rodsussumu.riachuelo_backend.application.enums;
+
+public enum TaskChangeTypeEnum {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+}
@@ -0,0 +1,48 @@
+package com.rodsussumu.riachuelo_backend.application.enums;
+
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidSortException;
+
+public enum TaskSortEnum {
+    DUE_DATE_ASC("dueDateAsc", "dueDate", true),
+    DUE_DATE_DESC("dueDateDesc", "dueDate", false),
+    CREATED_AT_ASC("createdAtAsc", "createdAt", true),
+    CREATED_AT_DESC("createdAtDesc", "createdAt", false),
+    TITLE_ASC("titleAsc", "title", true),
+    TITLE_DESC("titleDesc", "title", false),
+    STATUS_ASC("statusAsc", "status", true),
+    STATUS_DESC("statusDesc", "status", false);
+
+    private final String param;
+    private final String property;
+    private final boolean ascending;
+
+    TaskSortEnum(String param, String property, boolean ascending) {
+        this.param = param;
+        this.property = property;
+        this.ascending = ascending;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public static TaskSortEnum fromParam(String param) {
+        if (param == null) {
+            return CREATED_AT_ASC;
+        }
+        for (TaskSortEnum sort : values()) {
+            if (sort.param.equalsIgnoreCase(param)) {
+                return sort;
+            }
+        }
+        throw new InvalidSortException();
+    }
+}
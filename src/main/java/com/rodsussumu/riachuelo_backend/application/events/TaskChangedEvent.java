@@ -0,0 +1,21 @@
+package com.rodsussumu.riachuelo_backend.application.events;
+
+import com.rodsussumu.riachuelo_backend.application.enums.TaskChangeTypeEnum;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that created, changed or removed tasks of a user.
+ * {@code taskIds} is {@code null} when a bulk statement touched a set of rows that
+ * is not known up front.
+ */
+public record TaskChangedEvent(Long userId, TaskChangeTypeEnum type, List<Long> taskIds) {
+
+    public static TaskChangedEvent of(Long userId, TaskChangeTypeEnum type, Long taskId) {
+        return new TaskChangedEvent(userId, type, List.of(taskId));
+    }
+
+    public static TaskChangedEvent bulk(Long userId, TaskChangeTypeEnum type) {
+        return new TaskChangedEvent(userId, type, null);
+    }
+}
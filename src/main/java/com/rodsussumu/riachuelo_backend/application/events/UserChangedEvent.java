@@ -0,0 +1,9 @@
+package com.rodsussumu.riachuelo_backend.application.events;
+
+/**
+ * Published inside the transaction that created a user or changed its stored row.
+ * {@code userId} is {@code null} when only the username is known, and
+ * {@code username} when only the id is.
+ */
+public record UserChangedEvent(Long userId, String username) {
+}
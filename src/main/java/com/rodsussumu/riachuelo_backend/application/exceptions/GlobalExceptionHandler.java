@@ -32,6 +32,31 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(),"TASK_INVALID_STATUS");
     }
 
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidSort(InvalidSortException ex) {
+        return build(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), "TASK_INVALID_SORT");
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCursor(InvalidCursorException ex) {
+        return build(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), "TASK_INVALID_CURSOR");
+    }
+
+    @ExceptionHandler(InvalidExportFormatException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidExportFormat(InvalidExportFormatException ex) {
+        return build(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), "TASK_INVALID_EXPORT_FORMAT");
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponseDTO> handleBatchTooLarge(BatchTooLargeException ex) {
+        return build(HttpStatus.PAYLOAD_TOO_LARGE, "Payload Too Large", ex.getMessage(), "TASK_BATCH_TOO_LARGE");
+    }
+
+    @ExceptionHandler(EmptySelectionException.class)
+    public ResponseEntity<ErrorResponseDTO> handleEmptySelection(EmptySelectionException ex) {
+        return build(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), "TASK_EMPTY_SELECTION");
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponseDTO> handleBadCredentialsSpring(BadCredentialsException ex) {
         return build(HttpStatus.UNAUTHORIZED, "Unauthorized", ex.getMessage(), "BAD_CREDENTIALS");
@@ -43,6 +68,11 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.UNAUTHORIZED, "Unauthorized", ex.getMessage(), "BAD_CREDENTIALS");
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex.getMessage(), "AUTH_HASHING_BUSY");
+    }
+
     @ExceptionHandler(OwnershipDeniedException.class)
     public ResponseEntity<ErrorResponseDTO> handleOwnershipDenied(OwnershipDeniedException ex) {
         return build(HttpStatus.FORBIDDEN, "Unauthorized", ex.getMessage(), "FORBIDDEN");
@@ -53,6 +83,16 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.NOT_FOUND, "Not found", ex.getMessage(), "TASK_NOT_FOUND");
     }
 
+    @ExceptionHandler(TaskVersionMismatchException.class)
+    public ResponseEntity<ErrorResponseDTO> handleTaskVersionMismatch(TaskVersionMismatchException ex) {
+        return build(HttpStatus.PRECONDITION_FAILED, "Precondition Failed", ex.getMessage(), "TASK_VERSION_MISMATCH");
+    }
+
+    @ExceptionHandler(TaskConcurrentUpdateException.class)
+    public ResponseEntity<ErrorResponseDTO> handleTaskConcurrentUpdate(TaskConcurrentUpdateException ex) {
+        return build(HttpStatus.CONFLICT, "Conflict", ex.getMessage(), "TASK_CONCURRENT_UPDATE");
+    }
+
     @ExceptionHandler(InvalidTokenException.class)
     public ResponseEntity<ErrorResponseDTO> handleInvalidToken(InvalidTokenException ex) {
         return build(HttpStatus.UNAUTHORIZED, "Unauthorized", ex.getMessage(), "INVALID_TOKEN");
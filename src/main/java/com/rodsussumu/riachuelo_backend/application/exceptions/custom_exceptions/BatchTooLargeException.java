@@ -0,0 +1,7 @@
+package com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(int maxSize) {
+        super("Batch exceeds the maximum of " + maxSize + " tasks.");
+    }
+}
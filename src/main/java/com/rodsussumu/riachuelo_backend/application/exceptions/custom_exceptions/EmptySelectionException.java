@@ -0,0 +1,7 @@
+package com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions;
+
+public class EmptySelectionException extends RuntimeException {
+    public EmptySelectionException() {
+        super("Provide task ids or at least one filter (status, dueFrom, dueTo).");
+    }
+}
@@ -0,0 +1,7 @@
+package com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() {
+        super("Invalid or expired cursor. Restart pagination without a cursor.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions;
+
+public class InvalidExportFormatException extends RuntimeException {
+    public InvalidExportFormatException() {
+        super("Invalid export format. Allowed values: ndjson, csv.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions;
+
+public class InvalidSortException extends RuntimeException {
+    public InvalidSortException() {
+        super("Invalid sort. Use: dueDateAsc, dueDateDesc, createdAtAsc, createdAtDesc, titleAsc, titleDesc, statusAsc or statusDesc.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions;
+
+public class PasswordHashingInterruptedException extends RuntimeException {
+    public PasswordHashingInterruptedException(InterruptedException cause) {
+        super("Interrupted while waiting for password hashing.", cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions;
+
+public class TaskConcurrentUpdateException extends RuntimeException {
+    public TaskConcurrentUpdateException() {
+        super("The task was changed by another request. Reload it and try again.");
+    }
+}
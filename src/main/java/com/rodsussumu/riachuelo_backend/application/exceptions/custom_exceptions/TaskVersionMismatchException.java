@@ -0,0 +1,7 @@
+package com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions;
+
+public class TaskVersionMismatchException extends RuntimeException {
+    public TaskVersionMismatchException() {
+        super("The task changed since it was read. Reload it and try again.");
+    }
+}
@@ -6,15 +6,14 @@ import com.rodsussumu.riachuelo_backend.application.models.Task;
 import org.mapstruct.*;
 
 import java.util.Date;
-import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface TaskMapper {
     TaskDTO toDTO(Task task);
-    List<TaskDTO> toDTOList(List<Task> tasks);
 
     @Mappings({
             @Mapping(target = "id", ignore = true),
+            @Mapping(target = "version", ignore = true),
             @Mapping(target = "user", ignore = true),
             @Mapping(target = "createdAt", ignore = true),
             @Mapping(target = "status", ignore = true),
@@ -26,6 +25,7 @@ public interface TaskMapper {
     @Mappings({
             @Mapping(source = "dueDate", target = "dueDate"),
             @Mapping(target = "createdAt", ignore = true),
+            @Mapping(target = "version", ignore = true),
             @Mapping(target = "user", ignore = true),
             @Mapping(target = "status", ignore = true)
     })
@@ -3,11 +3,15 @@ package com.rodsussumu.riachuelo_backend.application.models;
 import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Date;
 
 @Entity
 @Table(name = "tb_tasks")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
 @Getter
 @Setter
 @AllArgsConstructor
@@ -16,7 +20,8 @@ import java.util.Date;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_tasks_seq")
+    @SequenceGenerator(name = "tb_tasks_seq", sequenceName = "tb_tasks_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -32,7 +37,10 @@ public class Task {
     @Enumerated(EnumType.STRING)
     private StatusEnum status = StatusEnum.PENDING;
 
-    @ManyToOne
+    @Version
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
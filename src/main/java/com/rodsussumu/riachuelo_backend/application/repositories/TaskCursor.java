@@ -0,0 +1,68 @@
+package com.rodsussumu.riachuelo_backend.application.repositories;
+
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskSortEnum;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+public record TaskCursor(
+        TaskSortEnum sort,
+        Object value,
+        Long id
+) {
+    private static final char SEPARATOR = '|';
+
+    public static TaskCursor after(TaskSortEnum sort, TaskDTO last) {
+        Object value = switch (sort.getProperty()) {
+            case "dueDate" -> last.dueDate();
+            case "title" -> last.title();
+            case "status" -> last.status();
+            default -> last.createdAt();
+        };
+        return new TaskCursor(sort, value, last.id());
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + format(value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            if (first < 0 || second < 0) {
+                throw new InvalidCursorException();
+            }
+            TaskSortEnum sort = TaskSortEnum.valueOf(raw.substring(0, first));
+            Long id = Long.parseLong(raw.substring(first + 1, second));
+            return new TaskCursor(sort, parse(sort, raw.substring(second + 1)), id);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    private static String format(Object value) {
+        if (value == null) return "";
+        if (value instanceof Date date) return String.valueOf(date.getTime());
+        if (value instanceof StatusEnum status) return status.name();
+        return "=" + value;
+    }
+
+    private static Object parse(TaskSortEnum sort, String value) {
+        if (value.isEmpty()) return null;
+        return switch (sort.getProperty()) {
+            case "title" -> {
+                if (value.charAt(0) != '=') throw new InvalidCursorException();
+                yield value.substring(1);
+            }
+            case "status" -> StatusEnum.valueOf(value);
+            default -> new Date(Long.parseLong(value));
+        };
+    }
+}
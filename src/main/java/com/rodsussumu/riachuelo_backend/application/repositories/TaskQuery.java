@@ -0,0 +1,22 @@
+package com.rodsussumu.riachuelo_backend.application.repositories;
+
+import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskSortEnum;
+import lombok.Builder;
+
+import java.util.Date;
+import java.util.List;
+
+@Builder
+public record TaskQuery(
+        Long userId,
+        List<Long> ids,
+        StatusEnum status,
+        Date dueFrom,
+        Date dueTo,
+        Date dueBefore,
+        TaskSortEnum sort,
+        TaskCursor after,
+        int offset,
+        Integer limit
+) {}
@@ -1,13 +1,17 @@
 package com.rodsussumu.riachuelo_backend.application.repositories;
 
-import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
 import com.rodsussumu.riachuelo_backend.application.models.Task;
-import com.rodsussumu.riachuelo_backend.application.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+    boolean existsByIdAndUserIsNotNull(Long id);
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByUser(User user);
-    List<Task> findByUserAndStatus(User user, StatusEnum status);
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Task t where t.id = :id and t.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
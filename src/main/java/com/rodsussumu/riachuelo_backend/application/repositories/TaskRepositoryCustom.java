@@ -0,0 +1,18 @@
+package com.rodsussumu.riachuelo_backend.application.repositories;
+
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.models.Task;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TaskRepositoryCustom {
+    List<TaskDTO> search(TaskQuery query);
+    long count(TaskQuery query);
+    Stream<TaskDTO> stream(TaskQuery query);
+    void insertAll(List<Task> tasks);
+    int bulkUpdateStatus(TaskQuery query, StatusEnum status);
+    int bulkDelete(TaskQuery query);
+    boolean isCached(Long id);
+}
@@ -0,0 +1,175 @@
+package com.rodsussumu.riachuelo_backend.application.repositories;
+
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskSortEnum;
+import com.rodsussumu.riachuelo_backend.application.models.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int INSERT_BATCH_SIZE = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskDTO> search(TaskQuery query) {
+        TypedQuery<TaskDTO> typed = entityManager.createQuery(select(query)).setFirstResult(query.offset());
+        if (query.limit() != null) {
+            typed.setMaxResults(query.limit());
+        }
+        return typed.getResultList();
+    }
+
+    @Override
+    public long count(TaskQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Task> task = cq.from(Task.class);
+
+        cq.select(cb.count(task)).where(filters(cb, task, query).toArray(Predicate[]::new));
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+
+    @Override
+    public Stream<TaskDTO> stream(TaskQuery query) {
+        return entityManager.createQuery(select(query))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<Task> tasks) {
+        for (int i = 0; i < tasks.size(); i++) {
+            entityManager.persist(tasks.get(i));
+            if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    @Transactional
+    public int bulkUpdateStatus(TaskQuery query, StatusEnum status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+
+        Path<Long> version = task.get("version");
+        update.set(task.<StatusEnum>get("status"), status)
+                .set(version, cb.sum(version, 1L))
+                .where(filters(cb, task, query).toArray(Predicate[]::new));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int bulkDelete(TaskQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Task> delete = cb.createCriteriaDelete(Task.class);
+        Root<Task> task = delete.from(Task.class);
+
+        delete.where(filters(cb, task, query).toArray(Predicate[]::new));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    @Override
+    public boolean isCached(Long id) {
+        return entityManager.getEntityManagerFactory().getCache().contains(Task.class, id);
+    }
+
+    private CriteriaQuery<TaskDTO> select(TaskQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskDTO> cq = cb.createQuery(TaskDTO.class);
+        Root<Task> task = cq.from(Task.class);
+
+        List<Predicate> predicates = filters(cb, task, query);
+        if (query.after() != null) {
+            predicates.add(keyset(cb, task, query.after()));
+        }
+
+        return cq.select(cb.construct(TaskDTO.class,
+                        task.get("id"),
+                        task.get("title"),
+                        task.get("description"),
+                        task.get("createdAt"),
+                        task.get("dueDate"),
+                        task.get("status"),
+                        task.get("version")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(order(cb, task, query.sort()));
+    }
+
+    private List<Order> order(CriteriaBuilder cb, Root<Task> task, TaskSortEnum sort) {
+        Path<Object> key = task.get(sort.getProperty());
+        Path<Long> id = task.get("id");
+        return sort.isAscending()
+                ? List.of(cb.asc(key), cb.asc(id))
+                : List.of(cb.desc(key), cb.desc(id));
+    }
+
+    private List<Predicate> filters(CriteriaBuilder cb, Root<Task> task, TaskQuery query) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(task.get("user").get("id"), query.userId()));
+        if (query.ids() != null) {
+            predicates.add(task.get("id").in(query.ids()));
+        }
+        if (query.status() != null) {
+            predicates.add(cb.equal(task.get("status"), query.status()));
+        }
+        if (query.dueFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(task.get("dueDate"), query.dueFrom()));
+        }
+        if (query.dueTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(task.get("dueDate"), query.dueTo()));
+        }
+        if (query.dueBefore() != null) {
+            predicates.add(cb.lessThan(task.get("dueDate"), query.dueBefore()));
+        }
+        return predicates;
+    }
+
+    // PostgreSQL sorts NULLs last ascending and first descending; the keyset follows the same order.
+    @SuppressWarnings("unchecked")
+    private Predicate keyset(CriteriaBuilder cb, Root<Task> task, TaskCursor after) {
+        Path<Comparable<Object>> key = task.get(after.sort().getProperty());
+        Path<Long> id = task.get("id");
+        Comparable<Object> value = (Comparable<Object>) after.value();
+
+        if (after.sort().isAscending()) {
+            if (value == null) {
+                return cb.and(cb.isNull(key), cb.greaterThan(id, after.id()));
+            }
+            return cb.or(
+                    cb.greaterThan(key, value),
+                    cb.and(cb.equal(key, value), cb.greaterThan(id, after.id())),
+                    cb.isNull(key)
+            );
+        }
+
+        if (value == null) {
+            return cb.or(
+                    cb.and(cb.isNull(key), cb.lessThan(id, after.id())),
+                    cb.isNotNull(key)
+            );
+        }
+        return cb.or(
+                cb.lessThan(key, value),
+                cb.and(cb.equal(key, value), cb.lessThan(id, after.id()))
+        );
+    }
+}
@@ -0,0 +1,6 @@
+package com.rodsussumu.riachuelo_backend.application.repositories;
+
+public interface UserTokenVersion {
+    Long getId();
+    int getTokenVersion();
+}
@@ -1,17 +1,29 @@
 package com.rodsussumu.riachuelo_backend.application.services;
 
+import com.rodsussumu.riachuelo_backend.application.dtos.BulkOperationResultDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.BulkStatusUpdateRequestDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskBatchResultDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskFilterDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskPageDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.TaskRequestDTO;
-import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.ExportFormatEnum;
 import org.apache.coyote.BadRequestException;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 public interface TaskService {
     TaskDTO create(TaskRequestDTO dto);
-    List<TaskDTO> listAll(StatusEnum status, String sort);
+    TaskBatchResultDTO createBatch(List<TaskRequestDTO> dtos);
+    List<TaskDTO> listAll(TaskFilterDTO filter);
+    TaskPageDTO listPage(TaskFilterDTO filter, Integer page, Integer size, String cursor);
+    void export(TaskFilterDTO filter, ExportFormatEnum format, Writer writer) throws IOException;
     TaskDTO listById(Long id);
-    TaskDTO updateTask(Long id, TaskRequestDTO dto);
-    TaskDTO updateStatus(Long id, String status) throws BadRequestException;
+    TaskDTO updateTask(Long id, TaskRequestDTO dto, String ifMatch);
+    TaskDTO updateStatus(Long id, String status, String ifMatch) throws BadRequestException;
     void deleteTask(Long id);
+    BulkOperationResultDTO updateStatusBulk(BulkStatusUpdateRequestDTO request);
+    BulkOperationResultDTO deleteBulk(List<Long> ids, TaskFilterDTO filter);
 }
@@ -8,4 +8,5 @@ import org.springframework.http.ResponseEntity;
 public interface UserService {
     UserRegisterResponseDTO register(UserAuthDTO userAuthDTO);
     UserAuthResponseDTO login(UserAuthDTO userAuthDTO);
+    void revokeTokens(Long userId);
 }
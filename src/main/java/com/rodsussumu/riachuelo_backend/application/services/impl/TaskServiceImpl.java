@@ -1,110 +1,365 @@
 package com.rodsussumu.riachuelo_backend.application.services.impl;
 
+import com.rodsussumu.riachuelo_backend.application.config.AuthenticatedUser;
+import com.rodsussumu.riachuelo_backend.application.dtos.BulkOperationResultDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.BulkStatusUpdateRequestDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskBatchItemResultDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskBatchResultDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskFilterDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskPageDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.TaskRequestDTO;
+import com.rodsussumu.riachuelo_backend.application.enums.ExportFormatEnum;
 import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskChangeTypeEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskSortEnum;
+import com.rodsussumu.riachuelo_backend.application.events.TaskChangedEvent;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.BatchTooLargeException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.EmptySelectionException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidCursorException;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidStatusException;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidTokenException;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.OwnershipDeniedException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.TaskConcurrentUpdateException;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.TaskNotFoundException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.TaskVersionMismatchException;
 import com.rodsussumu.riachuelo_backend.application.mappers.TaskMapper;
 import com.rodsussumu.riachuelo_backend.application.models.Task;
 import com.rodsussumu.riachuelo_backend.application.models.User;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskCursor;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskQuery;
 import com.rodsussumu.riachuelo_backend.application.repositories.TaskRepository;
 import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
 import com.rodsussumu.riachuelo_backend.application.services.TaskService;
-import jakarta.persistence.EntityNotFoundException;
+import com.rodsussumu.riachuelo_backend.application.utils.TaskETag;
+import com.rodsussumu.riachuelo_backend.application.utils.TaskExportWriter;
 import org.apache.coyote.BadRequestException;
-import org.springframework.security.access.AccessDeniedException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
-import java.util.Date;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class TaskServiceImpl implements TaskService {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final int MAX_TEXT_LENGTH = 255;
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final TaskMapper taskMapper;
+    private final TaskExportWriter taskExportWriter;
+    private final ApplicationEventPublisher events;
 
     public TaskServiceImpl(
         TaskRepository taskRepository,
         UserRepository userRepository,
-        TaskMapper taskMapper
+        TaskMapper taskMapper,
+        TaskExportWriter taskExportWriter,
+        ApplicationEventPublisher events
     ) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
         this.taskMapper = taskMapper;
+        this.taskExportWriter = taskExportWriter;
+        this.events = events;
     }
 
-    private User getAuthenticatedUser() {
+    private AuthenticatedUser getAuthenticatedUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            throw new InvalidTokenException();
+        }
+        if (auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal;
+        }
         return userRepository.findByUsername(auth.getName())
+                .map(user -> new AuthenticatedUser(user.getId(), user.getUsername(), null, user.getTokenVersion()))
                 .orElseThrow(InvalidTokenException::new);
     }
 
-    private Task getOwnedTaskOrThrow(Long id) {
+    /**
+     * Loads through the entity cache: a hit costs no statement, and the owner id
+     * comes from the uninitialized user proxy, so ownership never reads tb_users.
+     * A task without an owner belongs to nobody and reads as missing.
+     */
+    private Task getOwnedTaskOrThrow(AuthenticatedUser current, Long id) {
         Task task = taskRepository.findById(id)
+                .filter(found -> found.getUser() != null)
                 .orElseThrow(() -> new TaskNotFoundException(id));
-        User current = getAuthenticatedUser();
-        if (task.getUser() == null || !task.getUser().getId().equals(current.getId())) {
+        if (!task.getUser().getId().equals(current.id())) {
             throw new OwnershipDeniedException();
         }
         return task;
     }
 
+    private RuntimeException notOwnedOrMissing(Long id) {
+        return taskRepository.existsByIdAndUserIsNotNull(id)
+                ? new OwnershipDeniedException()
+                : new TaskNotFoundException(id);
+    }
+
+    /**
+     * Flushes the versioned {@code UPDATE ... WHERE id = ? AND version = ?} here so a
+     * lost race surfaces as a 412 when the client sent {@code If-Match} and as a 409
+     * otherwise, instead of failing at commit.
+     */
+    private Task flushVersioned(Task task, String ifMatch) {
+        try {
+            return taskRepository.saveAndFlush(task);
+        } catch (OptimisticLockingFailureException ex) {
+            throw ifMatch != null ? new TaskVersionMismatchException() : new TaskConcurrentUpdateException();
+        }
+    }
+
+    private void checkIfMatch(Task task, String ifMatch) {
+        if (!TaskETag.matches(ifMatch, task.getVersion())) {
+            throw new TaskVersionMismatchException();
+        }
+    }
+
+    @Transactional
     public TaskDTO create(TaskRequestDTO dto) {
-        User user = getAuthenticatedUser();
+        AuthenticatedUser current = getAuthenticatedUser();
         Task task = taskMapper.toEntity(dto);
-        task.setUser(user);
-        return taskMapper.toDTO(taskRepository.save(task));
-    }
-
-    public List<TaskDTO> listAll(StatusEnum status, String sort) {
-        User user = getAuthenticatedUser();
-        List<Task> tasks = (status != null)
-                ? taskRepository.findByUserAndStatus(user, status)
-                : taskRepository.findByUser(user);
-
-        if (sort != null) {
-            Comparator<Date> cmp = Comparator.nullsLast(Comparator.naturalOrder());
-            if ("dueDateAsc".equalsIgnoreCase(sort)) {
-                tasks.sort(Comparator.comparing(Task::getDueDate, cmp));
-            } else if ("dueDateDesc".equalsIgnoreCase(sort)) {
-                tasks.sort(Comparator.comparing(Task::getDueDate, cmp).reversed());
+        task.setUser(userRepository.getReferenceById(current.id()));
+        Task saved = taskRepository.save(task);
+        events.publishEvent(TaskChangedEvent.of(current.id(), TaskChangeTypeEnum.CREATED, saved.getId()));
+        return taskMapper.toDTO(saved);
+    }
+
+    @Transactional
+    public TaskBatchResultDTO createBatch(List<TaskRequestDTO> dtos) {
+        if (dtos.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException(MAX_BATCH_SIZE);
+        }
+        AuthenticatedUser current = getAuthenticatedUser();
+        User owner = userRepository.getReferenceById(current.id());
+
+        List<Task> accepted = new ArrayList<>(dtos.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(dtos.size());
+        TaskBatchItemResultDTO[] items = new TaskBatchItemResultDTO[dtos.size()];
+        for (int i = 0; i < dtos.size(); i++) {
+            String error = validateBatchItem(dtos.get(i));
+            if (error != null) {
+                items[i] = TaskBatchItemResultDTO.builder().index(i).error(error).build();
+                continue;
+            }
+            Task task = taskMapper.toEntity(dtos.get(i));
+            task.setUser(owner);
+            accepted.add(task);
+            acceptedIndexes.add(i);
+        }
+
+        taskRepository.insertAll(accepted);
+        events.publishEvent(new TaskChangedEvent(current.id(), TaskChangeTypeEnum.CREATED, accepted.stream().map(Task::getId).toList()));
+
+        for (int i = 0; i < accepted.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            items[index] = TaskBatchItemResultDTO.builder().index(index).id(accepted.get(i).getId()).build();
+        }
+        return TaskBatchResultDTO.builder()
+                .created(accepted.size())
+                .rejected(dtos.size() - accepted.size())
+                .items(List.of(items))
+                .build();
+    }
+
+    private String validateBatchItem(TaskRequestDTO dto) {
+        if (dto == null) {
+            return "Task payload is required.";
+        }
+        if (dto.title() != null && dto.title().length() > MAX_TEXT_LENGTH) {
+            return "Title must be at most " + MAX_TEXT_LENGTH + " characters.";
+        }
+        if (dto.description() != null && dto.description().length() > MAX_TEXT_LENGTH) {
+            return "Description must be at most " + MAX_TEXT_LENGTH + " characters.";
+        }
+        return null;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskDTO> listAll(TaskFilterDTO filter) {
+        AuthenticatedUser current = getAuthenticatedUser();
+        return taskRepository.search(query(current, filter).build());
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPageDTO listPage(TaskFilterDTO filter, Integer page, Integer size, String cursor) {
+        AuthenticatedUser current = getAuthenticatedUser();
+        TaskSortEnum order = TaskSortEnum.fromParam(filter.sort());
+        int limit = (size == null) ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        if (cursor == null && page != null) {
+            // Any page past the last row is empty, so a clamped offset answers it too.
+            long offset = (long) Math.max(page, 0) * limit;
+            List<TaskDTO> tasks = taskRepository.search(query(current, filter)
+                    .offset((int) Math.min(offset, Integer.MAX_VALUE))
+                    .limit(limit)
+                    .build());
+            long total = taskRepository.count(query(current, filter).build());
+            return TaskPageDTO.builder()
+                    .items(tasks)
+                    .totalElements(total)
+                    .build();
+        }
+
+        TaskCursor after = (cursor != null) ? TaskCursor.decode(cursor) : null;
+        if (after != null && after.sort() != order) {
+            throw new InvalidCursorException();
+        }
+
+        List<TaskDTO> tasks = taskRepository.search(query(current, filter)
+                .after(after)
+                .limit(limit + 1)
+                .build());
+
+        String nextCursor = null;
+        if (tasks.size() > limit) {
+            tasks = tasks.subList(0, limit);
+            nextCursor = TaskCursor.after(order, tasks.get(limit - 1)).encode();
+        }
+        return TaskPageDTO.builder()
+                .items(tasks)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public void export(TaskFilterDTO filter, ExportFormatEnum format, Writer writer) throws IOException {
+        AuthenticatedUser current = getAuthenticatedUser();
+        taskExportWriter.writeHeader(format, writer);
+        try (Stream<TaskDTO> rows = taskRepository.stream(query(current, filter).build())) {
+            Iterator<TaskDTO> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                taskExportWriter.writeRow(format, iterator.next(), writer);
             }
         }
+        writer.flush();
+    }
 
-        return taskMapper.toDTOList(tasks);
+    private TaskQuery.TaskQueryBuilder query(AuthenticatedUser current, TaskFilterDTO filter) {
+        return TaskQuery.builder()
+                .userId(current.id())
+                .status(filter.status())
+                .dueFrom(filter.dueFrom())
+                .dueTo(filter.dueTo())
+                .dueBefore(filter.dueBefore())
+                .sort(TaskSortEnum.fromParam(filter.sort()));
     }
 
+    @Transactional(readOnly = true)
     public TaskDTO listById(Long id) {
-        Task task = getOwnedTaskOrThrow(id);
-        return taskMapper.toDTO(task);
+        return taskMapper.toDTO(getOwnedTaskOrThrow(getAuthenticatedUser(), id));
     }
 
-    public TaskDTO updateTask(Long id, TaskRequestDTO dto) {
-        Task task = getOwnedTaskOrThrow(id);
+    @Transactional
+    public TaskDTO updateTask(Long id, TaskRequestDTO dto, String ifMatch) {
+        AuthenticatedUser current = getAuthenticatedUser();
+        Task task = getOwnedTaskOrThrow(current, id);
+        checkIfMatch(task, ifMatch);
         taskMapper.updateFromRequest(dto, task);
-        return taskMapper.toDTO(taskRepository.save(task));
+        Task saved = flushVersioned(task, ifMatch);
+        events.publishEvent(TaskChangedEvent.of(current.id(), TaskChangeTypeEnum.UPDATED, id));
+        return taskMapper.toDTO(saved);
+    }
+
+    @Transactional
+    public TaskDTO updateStatus(Long id, String status, String ifMatch) throws BadRequestException {
+        StatusEnum parsed = parseStatus(status);
+        AuthenticatedUser current = getAuthenticatedUser();
+        Task task = getOwnedTaskOrThrow(current, id);
+        checkIfMatch(task, ifMatch);
+        task.setStatus(parsed);
+        Task saved = flushVersioned(task, ifMatch);
+        events.publishEvent(TaskChangedEvent.of(current.id(), TaskChangeTypeEnum.STATUS_CHANGED, id));
+        return taskMapper.toDTO(saved);
     }
 
-    public TaskDTO updateStatus(Long id, String status) throws BadRequestException {
-        Task task = getOwnedTaskOrThrow(id);
+    private StatusEnum parseStatus(String status) {
+        if (status == null) {
+            throw new InvalidStatusException();
+        }
         try {
-            StatusEnum statusName = StatusEnum.valueOf(status.toUpperCase());
-            task.setStatus(statusName);
-            return taskMapper.toDTO(taskRepository.save(task));
+            return StatusEnum.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException ex) {
             throw new InvalidStatusException();
         }
     }
 
+    /**
+     * A cached task is deleted through the entity, which costs only the DELETE and
+     * keeps the rest of the region warm. Otherwise one owner-scoped DELETE does the
+     * work, and the existence probe runs only when it matched nothing.
+     */
+    @Transactional
     public void deleteTask(Long id) {
-        Task task = getOwnedTaskOrThrow(id);
-        taskRepository.delete(task);
+        AuthenticatedUser current = getAuthenticatedUser();
+        if (taskRepository.isCached(id)) {
+            taskRepository.delete(getOwnedTaskOrThrow(current, id));
+            try {
+                taskRepository.flush();
+            } catch (OptimisticLockingFailureException ex) {
+                throw new TaskConcurrentUpdateException();
+            }
+        } else if (taskRepository.deleteByIdAndUserId(id, current.id()) == 0) {
+            throw notOwnedOrMissing(id);
+        }
+        events.publishEvent(TaskChangedEvent.of(current.id(), TaskChangeTypeEnum.DELETED, id));
+    }
+
+    @Transactional
+    public BulkOperationResultDTO updateStatusBulk(BulkStatusUpdateRequestDTO request) {
+        StatusEnum status = parseStatus(request.status());
+        AuthenticatedUser current = getAuthenticatedUser();
+        int affected = taskRepository.bulkUpdateStatus(selection(current, request.ids(), request.filter()), status);
+        events.publishEvent(TaskChangedEvent.bulk(current.id(), TaskChangeTypeEnum.STATUS_CHANGED));
+        return BulkOperationResultDTO.builder()
+                .affected(affected)
+                .build();
+    }
+
+    @Transactional
+    public BulkOperationResultDTO deleteBulk(List<Long> ids, TaskFilterDTO filter) {
+        AuthenticatedUser current = getAuthenticatedUser();
+        int affected = taskRepository.bulkDelete(selection(current, ids, filter));
+        events.publishEvent(TaskChangedEvent.bulk(current.id(), TaskChangeTypeEnum.DELETED));
+        return BulkOperationResultDTO.builder()
+                .affected(affected)
+                .build();
+    }
+
+    private TaskQuery selection(AuthenticatedUser current, List<Long> ids, TaskFilterDTO filter) {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        boolean hasFilter = filter != null
+                && (filter.status() != null || filter.dueFrom() != null || filter.dueTo() != null
+                        || filter.dueBefore() != null);
+        if (!hasIds && !hasFilter) {
+            throw new EmptySelectionException();
+        }
+        if (hasIds && ids.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException(MAX_BATCH_SIZE);
+        }
+
+        TaskQuery.TaskQueryBuilder query = TaskQuery.builder()
+                .userId(current.id())
+                .ids(hasIds ? ids : null);
+        if (hasFilter) {
+            query.status(filter.status())
+                    .dueFrom(filter.dueFrom())
+                    .dueTo(filter.dueTo())
+                    .dueBefore(filter.dueBefore());
+        }
+        return query.build();
     }
 }
@@ -1,27 +1,45 @@
 package com.rodsussumu.riachuelo_backend.application.services.impl;
 
+import com.rodsussumu.riachuelo_backend.application.config.AuthenticatedUser;
+import com.rodsussumu.riachuelo_backend.application.events.UserChangedEvent;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidTokenException;
 import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository repository;
+    private final ApplicationEventPublisher events;
 
-    public UserDetailsServiceImpl(UserRepository repository) {
+    public UserDetailsServiceImpl(UserRepository repository, ApplicationEventPublisher events) {
         this.repository = repository;
+        this.events = events;
     }
 
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         var user = repository.findByUsername(username)
                 .orElseThrow(InvalidTokenException::new);
-        return User.withUsername(user.getUsername())
-                .password(user.getPassword())
-                .build();
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(), user.getTokenVersion());
+    }
+
+    /**
+     * Called by the authentication provider after a successful login whose
+     * stored hash no longer matches the configured encoder settings.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        repository.updatePasswordByUsername(user.getUsername(), newPassword);
+        Long id = user instanceof AuthenticatedUser authenticated ? authenticated.id() : null;
+        events.publishEvent(new UserChangedEvent(id, user.getUsername()));
+        if (user instanceof AuthenticatedUser authenticated) {
+            return new AuthenticatedUser(authenticated.id(), authenticated.username(), newPassword, authenticated.tokenVersion());
+        }
+        return loadUserByUsername(user.getUsername());
     }
 }
@@ -1,58 +1,93 @@
 package com.rodsussumu.riachuelo_backend.application.services.impl;
 
-import com.rodsussumu.riachuelo_backend.application.config.TokenHolder;
+import com.rodsussumu.riachuelo_backend.application.config.AuthenticatedUser;
 import com.rodsussumu.riachuelo_backend.application.config.TokenService;
+import com.rodsussumu.riachuelo_backend.application.config.TokenVersionRegistry;
 import com.rodsussumu.riachuelo_backend.application.dtos.UserAuthDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.UserAuthResponseDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.UserRegisterResponseDTO;
+import com.rodsussumu.riachuelo_backend.application.events.UserChangedEvent;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.BadCredentialsException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidTokenException;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.UsernameAlreadyExistsException;
 import com.rodsussumu.riachuelo_backend.application.models.User;
 import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
 import com.rodsussumu.riachuelo_backend.application.services.UserService;
-import org.springframework.http.ResponseEntity;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Objects;
-import java.util.Optional;
+import java.sql.SQLException;
 
 @Service
 public class UserServiceImpl implements UserService {
+    private static final String USERNAME_CONSTRAINT = "uk_users_username";
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final UserRepository userRepository;
     private final AuthenticationManager authenticationManager;
     private final TokenService tokenService;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher events;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     public UserServiceImpl(
             UserRepository userRepository,
             AuthenticationManager authenticationManager,
             TokenService tokenService,
-            PasswordEncoder passwordEncoder
+            PasswordEncoder passwordEncoder,
+            ApplicationEventPublisher events,
+            TokenVersionRegistry tokenVersionRegistry
     ) {
         this.userRepository = userRepository;
         this.authenticationManager = authenticationManager;
         this.tokenService = tokenService;
         this.passwordEncoder = passwordEncoder;
+        this.events = events;
+        this.tokenVersionRegistry = tokenVersionRegistry;
     }
 
     public UserRegisterResponseDTO register(UserAuthDTO userAuthDTO) {
-        if (userRepository.findByUsername(userAuthDTO.username()).isPresent()) {
-            throw new UsernameAlreadyExistsException();
-        }
         User user = new User();
         user.setUsername(userAuthDTO.username());
         user.setPassword(passwordEncoder.encode(userAuthDTO.password()));
-        userRepository.save(user);
+        try {
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (isDuplicateUsername(ex)) {
+                throw new UsernameAlreadyExistsException();
+            }
+            throw ex;
+        }
+        events.publishEvent(new UserChangedEvent(user.getId(), user.getUsername()));
         return UserRegisterResponseDTO.builder()
                 .username(userAuthDTO.username())
                 .message("User created")
                 .build();
     }
 
+    /**
+     * Only the username unique constraint means "taken"; NOT NULL or length
+     * violations surface as they are. The id is generated, so a unique violation
+     * without a constraint name can only be the username.
+     */
+    private static boolean isDuplicateUsername(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return USERNAME_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName());
+            }
+            if (cause instanceof SQLException sql && sql.getSQLState() != null) {
+                return UNIQUE_VIOLATION.equals(sql.getSQLState());
+            }
+        }
+        return false;
+    }
+
     public UserAuthResponseDTO login(UserAuthDTO userAuthDTO) {
         try {
             UsernamePasswordAuthenticationToken usernamePassword = new UsernamePasswordAuthenticationToken(
@@ -61,25 +96,32 @@ public class UserServiceImpl implements UserService {
 
             Authentication authentication = authenticationManager.authenticate(usernamePassword);
 
-            Optional<User> user = userRepository.findByUsername(userAuthDTO.username());
-
-            if(Objects.isNull(user)) {
+            if (!(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
                 throw new BadCredentialsException();
             }
 
-            String username = authentication.getName();
-
-            String token = tokenService.generateToken(username);
-
-            TokenHolder.setToken(token);
+            String token = tokenService.generateToken(user.username(), user.id(), user.tokenVersion());
 
             return UserAuthResponseDTO.builder()
                     .authenticated(true)
                     .username(userAuthDTO.username())
+                    .token(token)
                     .build();
         } catch (BadCredentialsException ex) {
             throw new BadCredentialsException();
         }
     }
 
+    /**
+     * Bumps the user's token version so every token issued so far stops
+     * authenticating; this node stops accepting them before the call returns.
+     */
+    public void revokeTokens(Long userId) {
+        if (userRepository.incrementTokenVersion(userId) == 0) {
+            throw new InvalidTokenException();
+        }
+        int version = userRepository.findTokenVersionById(userId).orElseThrow(InvalidTokenException::new);
+        tokenVersionRegistry.revoke(userId, version);
+        events.publishEvent(new UserChangedEvent(userId, null));
+    }
 }
@@ -0,0 +1,73 @@
+package com.rodsussumu.riachuelo_backend.application.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rodsussumu.riachuelo_backend.application.config.CacheInvalidation;
+import com.rodsussumu.riachuelo_backend.application.config.CacheInvalidationChannel;
+import com.rodsussumu.riachuelo_backend.application.events.TaskChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user version of the task collection, moved forward after every committed
+ * change to that user's tasks and on invalidations sent by other nodes.
+ * <p>
+ * Versions come from one counter, so a user seen for the first time, or whose
+ * version was forgotten after {@link #IDLE_EXPIRY}, gets a number no earlier
+ * state used. The counter is local to this node; ETags carry a node id so a
+ * version from another node never matches.
+ */
+@Component
+public class TaskChangeTracker {
+
+    static final String REGION = "TaskList";
+    static final Duration IDLE_EXPIRY = Duration.ofHours(1);
+
+    private final CacheInvalidationChannel channel;
+    private final String origin = UUID.randomUUID().toString();
+    private final String node = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong generation = new AtomicLong();
+    private final Cache<Long, Long> versions = Caffeine.newBuilder()
+            .expireAfterAccess(IDLE_EXPIRY)
+            .build();
+
+    public TaskChangeTracker(CacheInvalidationChannel channel) {
+        this.channel = channel;
+        channel.subscribe(this::apply);
+    }
+
+    public long version(Long userId) {
+        return versions.get(userId, id -> generation.incrementAndGet());
+    }
+
+    public String etag(Long userId) {
+        return "\"" + node + "-" + version(userId) + "\"";
+    }
+
+    public void invalidate(Long userId) {
+        versions.put(userId, generation.incrementAndGet());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidate(event.userId());
+        channel.publish(new CacheInvalidation(origin, REGION, List.of(event.userId()), null));
+    }
+
+    void apply(CacheInvalidation invalidation) {
+        if (origin.equals(invalidation.origin()) || !REGION.equals(invalidation.entityName())) {
+            return;
+        }
+        if (invalidation.ids() == null) {
+            versions.invalidateAll();
+        } else {
+            invalidation.ids().forEach(this::invalidate);
+        }
+    }
+}
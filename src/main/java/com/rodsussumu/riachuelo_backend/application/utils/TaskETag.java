@@ -0,0 +1,32 @@
+package com.rodsussumu.riachuelo_backend.application.utils;
+
+/**
+ * Strong ETags for a single task, built from its {@code version} column.
+ */
+public final class TaskETag {
+
+    private TaskETag() {
+    }
+
+    public static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * {@code If-Match} uses the strong comparison: weak tags never match, {@code *}
+     * matches any existing task and a missing header places no condition.
+     */
+    public static boolean matches(String ifMatch, Long version) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return true;
+        }
+        String current = of(version);
+        for (String tag : ifMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*") || candidate.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,379 @@
+package com.rodsussumu.riachuelo_backend.application.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskEventDTO;
+import com.rodsussumu.riachuelo_backend.application.events.TaskChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-sent events of committed task changes, per user.
+ * <p>
+ * Publishing only appends to the user's replay history and queues the event on
+ * each of that user's connections, so a commit never waits on a client. Every
+ * connection drains its own queue on a small shared pool, and only that pool
+ * touches the emitter, completion included; one that falls {@code buffer} events
+ * behind is closed and catches up from the history when the browser reconnects
+ * with {@code Last-Event-ID}. An idle connection holds its emitter and an empty
+ * queue, nothing else.
+ * <p>
+ * Event ids are {@code <node>-<sequence>}. An id from another node or an earlier
+ * process, or older than the history still covers, gets a {@code reset} event:
+ * the client reloads {@code GET /tasks} and carries on from the reset's id.
+ */
+@Component
+public class TaskEventStream implements AutoCloseable {
+
+    static final String TASK_EVENT = "task";
+    static final String READY_EVENT = "ready";
+    static final String RESET_EVENT = "reset";
+
+    private static final Event HEARTBEAT = new Event(0, null, null);
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int historySize;
+    private final long timeoutMillis;
+    private final long retentionNanos;
+    private final String node = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger open = new AtomicInteger();
+    private final Map<Long, UserStream> streams = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService heartbeats;
+
+    public TaskEventStream(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${tasks.stream.buffer:64}") int bufferSize,
+            @Value("${tasks.stream.history:256}") int historySize,
+            @Value("${tasks.stream.heartbeat:15s}") Duration heartbeat,
+            @Value("${tasks.stream.timeout:30m}") Duration timeout,
+            @Value("${tasks.stream.retention:5m}") Duration retention,
+            @Value("${tasks.stream.sender-threads:0}") int senderThreads
+    ) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.historySize = historySize;
+        this.timeoutMillis = timeout.toMillis();
+        this.retentionNanos = retention.toNanos();
+
+        // SseEmitter writes while holding its monitor, which would pin a virtual
+        // thread's carrier on a slow client; a few platform threads drain instead.
+        int threads = senderThreads > 0 ? senderThreads : Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger counter = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "task-stream-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        this.heartbeats = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "task-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = heartbeat.toMillis();
+        heartbeats.scheduleAtFixedRate(this::tick, period, period, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("tasks.stream.connections", open, AtomicInteger::get)
+                .description("Open GET /tasks/stream connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for {@code userId}. Without {@code lastEventId} the first event
+     * is {@code ready}; with one, the missed events are replayed, or {@code reset}
+     * is sent when they are no longer known.
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection;
+        do {
+            // A new stream cannot replay what happened before it; claiming a fresh
+            // sequence puts every id handed out so far below its floor.
+            UserStream stream = streams.computeIfAbsent(userId, id -> new UserStream(sequence.incrementAndGet()));
+            connection = stream.attach(emitter, lastEventId);
+        } while (connection == null);
+
+        Connection attached = connection;
+        emitter.onCompletion(attached::detach);
+        emitter.onTimeout(attached::close);
+        emitter.onError(error -> attached.detach());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        UserStream stream = streams.get(event.userId());
+        if (stream == null || (event.taskIds() != null && event.taskIds().isEmpty())) {
+            return;
+        }
+        String data = serialize(TaskEventDTO.builder().type(event.type()).taskIds(event.taskIds()).build());
+        stream.publish(data);
+    }
+
+    int openConnections() {
+        return open.get();
+    }
+
+    void tick() {
+        long now = System.nanoTime();
+        streams.forEach((userId, stream) -> {
+            for (Connection connection : stream.connections()) {
+                connection.heartbeat();
+            }
+            if (stream.retireIfIdle(now)) {
+                streams.remove(userId, stream);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        heartbeats.shutdownNow();
+        streams.values().forEach(stream -> stream.connections().forEach(Connection::close));
+        senders.shutdown();
+    }
+
+    private String serialize(TaskEventDTO event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private Long parse(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(node + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(node.length() + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private record Event(long sequence, String name, String data) {
+    }
+
+    /**
+     * History and connections of one user. {@code floor} is the newest sequence this
+     * stream can no longer vouch for: ids at or above it can be replayed exactly.
+     */
+    private final class UserStream {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<Event> history = new ArrayDeque<>();
+        private final Set<Connection> connections = new HashSet<>();
+        private long floor;
+        private long lastActive = System.nanoTime();
+        private boolean retired;
+
+        UserStream(long floor) {
+            this.floor = floor;
+        }
+
+        Connection attach(SseEmitter emitter, String lastEventId) {
+            lock.lock();
+            try {
+                if (retired) {
+                    return null;
+                }
+                Connection connection = new Connection(emitter, this);
+                connections.add(connection);
+                open.incrementAndGet();
+
+                Long last = parse(lastEventId);
+                List<Event> missed = last == null || last < floor ? null
+                        : history.stream().filter(event -> event.sequence() > last).toList();
+                if (lastEventId == null) {
+                    connection.offer(new Event(sequence.get(), READY_EVENT, null));
+                } else if (missed == null || missed.size() >= bufferSize) {
+                    connection.offer(new Event(sequence.get(), RESET_EVENT, null));
+                } else {
+                    missed.forEach(connection::offer);
+                }
+                return connection;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void publish(String data) {
+            List<Connection> targets;
+            lock.lock();
+            try {
+                if (retired) {
+                    return;
+                }
+                Event event = new Event(sequence.incrementAndGet(), TASK_EVENT, data);
+                history.addLast(event);
+                if (history.size() > historySize) {
+                    floor = history.removeFirst().sequence();
+                }
+                lastActive = System.nanoTime();
+                targets = new ArrayList<>(connections);
+                // Queued under the lock so replay and live delivery never reorder.
+                targets.forEach(connection -> connection.offer(event));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void detach(Connection connection) {
+            lock.lock();
+            try {
+                if (connections.remove(connection)) {
+                    open.decrementAndGet();
+                    lastActive = System.nanoTime();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<Connection> connections() {
+            lock.lock();
+            try {
+                return new ArrayList<>(connections);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean retireIfIdle(long now) {
+            lock.lock();
+            try {
+                retired = connections.isEmpty() && now - lastActive > retentionNanos;
+                return retired;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final class Connection {
+
+        private final SseEmitter emitter;
+        private final UserStream owner;
+        private final Queue<Event> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean completing;
+
+        Connection(SseEmitter emitter, UserStream owner) {
+            this.emitter = emitter;
+            this.owner = owner;
+        }
+
+        void offer(Event event) {
+            if (closed.get()) {
+                return;
+            }
+            if (queued.incrementAndGet() > bufferSize) {
+                close();
+                return;
+            }
+            pending.add(event);
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void heartbeat() {
+            if (queued.get() == 0) {
+                offer(HEARTBEAT);
+            }
+        }
+
+        private void drain() {
+            do {
+                Event event;
+                while (!closed.get() && (event = pending.poll()) != null) {
+                    queued.decrementAndGet();
+                    try {
+                        emitter.send(toSse(event));
+                    } catch (IOException | IllegalStateException ex) {
+                        // The container reports the broken response through onError.
+                        detach();
+                    }
+                }
+                if (completing) {
+                    // Left marked as draining, so nothing is sent after completion.
+                    emitter.complete();
+                    return;
+                }
+                draining.set(false);
+            } while ((completing || !closed.get() && !pending.isEmpty()) && draining.compareAndSet(false, true));
+        }
+
+        private SseEmitter.SseEventBuilder toSse(Event event) {
+            if (event == HEARTBEAT) {
+                return SseEmitter.event().comment("");
+            }
+            SseEmitter.SseEventBuilder sse = SseEmitter.event().id(node + "-" + event.sequence()).name(event.name());
+            return event.data() == null ? sse.data("") : sse.data(event.data());
+        }
+
+        /**
+         * Detaches at once and leaves {@code complete()} to the drain: the emitter's
+         * monitor may be held by a send blocked on this very client.
+         */
+        void close() {
+            if (detach()) {
+                completing = true;
+                schedule();
+            }
+        }
+
+        boolean detach() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            pending.clear();
+            owner.detach(this);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.rodsussumu.riachuelo_backend.application.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.enums.ExportFormatEnum;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Date;
+
+@Component
+public class TaskExportWriter {
+    static final String CSV_HEADER = "id,title,description,createdAt,dueDate,status";
+
+    private final ObjectMapper objectMapper;
+
+    public TaskExportWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void writeHeader(ExportFormatEnum format, Writer writer) throws IOException {
+        if (format == ExportFormatEnum.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    public void writeRow(ExportFormatEnum format, TaskDTO task, Writer writer) throws IOException {
+        if (format == ExportFormatEnum.CSV) {
+            writer.write(String.join(",",
+                    csv(task.id()),
+                    csv(task.title()),
+                    csv(task.description()),
+                    csv(task.createdAt()),
+                    csv(task.dueDate()),
+                    csv(task.status())));
+        } else {
+            writer.write(objectMapper.writeValueAsString(task));
+        }
+        writer.write('\n');
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = (value instanceof Date date) ? date.toInstant().toString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
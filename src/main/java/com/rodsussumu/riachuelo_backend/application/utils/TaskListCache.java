@@ -0,0 +1,74 @@
+package com.rodsussumu.riachuelo_backend.application.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskSortEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Serialized {@code GET /tasks} bodies per user, status filter and sort.
+ * <p>
+ * Entries are keyed by the user's {@link TaskChangeTracker} version, so a
+ * committed task change makes every list of that user miss at once while other
+ * users keep their entries; the orphaned bodies age out through the size and
+ * time bounds. A body computed from a read that raced the change is stored
+ * under the old version and is never served.
+ */
+@Component
+public class TaskListCache {
+
+    record Key(Long userId, long version, StatusEnum status, TaskSortEnum sort) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final TaskChangeTracker tracker;
+    private final Cache<Key, byte[]> bodies;
+
+    public TaskListCache(
+            ObjectMapper objectMapper,
+            TaskChangeTracker tracker,
+            MeterRegistry meterRegistry,
+            @Value("${tasks.list-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${tasks.list-cache.ttl:60s}") Duration ttl
+    ) {
+        this.objectMapper = objectMapper;
+        this.tracker = tracker;
+        this.bodies = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, byte[] body) -> body.length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, "task-lists");
+    }
+
+    public byte[] get(Long userId, StatusEnum status, TaskSortEnum sort, Supplier<List<TaskDTO>> loader) {
+        Key key = new Key(userId, tracker.version(userId), status, sort);
+        byte[] body = bodies.getIfPresent(key);
+        if (body == null) {
+            body = serialize(loader.get());
+            bodies.put(key, body);
+        }
+        return body;
+    }
+
+    private byte[] serialize(List<TaskDTO> tasks) {
+        try {
+            return objectMapper.writeValueAsBytes(tasks);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+-- Databases created by ddl-auto before Flyway already had both tables, so V1
+-- skipped them. Bring those to the V1 shape before V2 indexes token_version.
+alter table tb_users add column if not exists token_version integer default 0 not null;
+
+-- Hibernate named the username unique constraint at random; registration maps
+-- a duplicate to 409 by the name uk_users_username.
+do $$
+declare
+    existing name;
+begin
+    select con.conname into existing
+    from pg_constraint con
+    join pg_attribute att on att.attrelid = con.conrelid and att.attnum = con.conkey[1]
+    where con.conrelid = 'tb_users'::regclass
+      and con.contype = 'u'
+      and cardinality(con.conkey) = 1
+      and att.attname = 'username'
+    limit 1;
+
+    if existing is null then
+        alter table tb_users add constraint uk_users_username unique (username);
+    elsif existing <> 'uk_users_username' then
+        execute format('alter table tb_users rename constraint %I to uk_users_username', existing);
+    end if;
+end $$;
@@ -0,0 +1,18 @@
+create table if not exists tb_users (
+    id bigint generated by default as identity primary key,
+    username varchar(255),
+    password varchar(255),
+    token_version integer default 0 not null,
+    constraint uk_users_username unique (username)
+);
+
+create table if not exists tb_tasks (
+    id bigint generated by default as identity primary key,
+    title varchar(255),
+    description varchar(255),
+    created_at timestamp(6),
+    due_date timestamp(6),
+    status varchar(255) check (status in ('PENDING', 'IN_PROGRESS', 'DONE')),
+    user_id bigint,
+    constraint fk_tasks_user foreign key (user_id) references tb_users (id)
+);
@@ -0,0 +1,5 @@
+create index if not exists ix_tasks_user_status_due_date on tb_tasks (user_id, status, due_date);
+
+create index if not exists ix_tasks_user_created_at on tb_tasks (user_id, created_at);
+
+create index if not exists ix_users_revoked_token_version on tb_users (id) where token_version > 0;
@@ -0,0 +1,5 @@
+create sequence if not exists tb_tasks_seq increment by 50;
+
+select setval('tb_tasks_seq', coalesce((select max(id) from tb_tasks), 0) + 50, false);
+
+alter table tb_tasks alter column id drop identity if exists;
@@ -0,0 +1 @@
+alter table tb_tasks add column if not exists version bigint not null default 0;
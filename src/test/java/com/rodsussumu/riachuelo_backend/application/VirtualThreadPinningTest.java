@@ -0,0 +1,160 @@
+package com.rodsussumu.riachuelo_backend.application;
+
+import com.rodsussumu.riachuelo_backend.application.models.User;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskQuery;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskRepository;
+import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.catalina.connector.Connector;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true"
+)
+class VirtualThreadPinningTest {
+
+    private static final int CLIENTS = 40;
+    private static final int REQUESTS_PER_CLIENT = 5;
+
+    @Autowired
+    ServletWebServerApplicationContext context;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("vt-" + System.nanoTime())
+                .password(passwordEncoder.encode("secret"))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.bulkDelete(TaskQuery.builder().userId(user.getId()).build());
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Tomcat hands requests to virtual threads when the mode is enabled")
+    void tomcatUsesVirtualThreads() {
+        Connector connector = ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector();
+        assertInstanceOf(VirtualThreadExecutor.class, connector.getProtocolHandler().getExecutor());
+    }
+
+    @Test
+    @DisplayName("login and task traffic never pin a carrier thread")
+    void noCarrierPinning() throws Exception {
+        List<String> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinned.add(describe(event)));
+            recording.startAsync();
+
+            String token = login();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Integer>> failures = new ArrayList<>();
+                for (int i = 0; i < CLIENTS; i++) {
+                    int client = i;
+                    failures.add(clients.submit(() -> drive(token, client)));
+                }
+                for (Future<Integer> failed : failures) {
+                    assertEquals(0, failed.get());
+                }
+            }
+
+            recording.stop();
+        }
+
+        assertTrue(pinned.isEmpty(), () -> "carrier threads pinned:\n" + String.join("\n\n", pinned));
+    }
+
+    private int drive(String token, int client) throws Exception {
+        int failures = 0;
+        for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+            HttpResponse<String> created = send(authorized("/tasks", token)
+                    .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"vt " + client + "-" + i + "\"}"))
+                    .build());
+            HttpResponse<String> listed = send(authorized("/tasks?size=20", token).GET().build());
+            if (created.statusCode() != 201 || listed.statusCode() != 200) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    private String login() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/auth/login"))
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + user.getUsername() + "\",\"password\":\"secret\"}"))
+                .build());
+        assertEquals(200, response.statusCode());
+        String cookie = response.headers().firstValue(HttpHeaders.SET_COOKIE).orElseThrow();
+        return cookie.substring("ACCESS_TOKEN=".length(), cookie.indexOf(';'));
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        return HttpRequest.newBuilder(uri(path)).header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + context.getWebServer().getPort() + path);
+    }
+
+    private static String describe(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return event.toString();
+        }
+        return event.getStackTrace().getFrames().stream()
+                .limit(15)
+                .map(RecordedFrame::getMethod)
+                .map(method -> "  at " + method.getType().getName() + "." + method.getName())
+                .collect(Collectors.joining("\n"));
+    }
+}
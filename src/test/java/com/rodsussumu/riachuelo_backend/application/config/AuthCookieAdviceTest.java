@@ -1,7 +1,7 @@
 package com.rodsussumu.riachuelo_backend.application.config;
 
+import com.rodsussumu.riachuelo_backend.application.controllers.UserController;
 import com.rodsussumu.riachuelo_backend.application.dtos.UserAuthResponseDTO;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.MethodParameter;
@@ -15,6 +15,7 @@ import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.lang.reflect.Method;
 import java.util.List;
@@ -38,9 +39,12 @@ class AuthCookieAdviceTest {
         return MethodParameter.forExecutable(m, -1);
     }
 
-    @AfterEach
-    void tearDown() {
-        TokenHolder.clear();
+    private static UserAuthResponseDTO login(String token) {
+        return UserAuthResponseDTO.builder()
+                .username("john")
+                .authenticated(true)
+                .token(token)
+                .build();
     }
 
     // ---------- supports(..) ----------
@@ -84,11 +88,30 @@ class AuthCookieAdviceTest {
                 MappingJackson2HttpMessageConverter.class));
     }
 
+    @Test
+    @DisplayName("supports: resultado é reaproveitado por método sem nova resolução de tipos")
+    void supports_cached_per_method() throws Exception {
+        AuthCookieAdvice advice = new AuthCookieAdvice();
+        MethodParameter entity = spy(returnType("entity"));
+
+        assertTrue(advice.supports(entity, MappingJackson2HttpMessageConverter.class));
+        assertTrue(advice.supports(entity, MappingJackson2HttpMessageConverter.class));
+
+        verify(entity, times(1)).getParameterType();
+    }
+
+    @Test
+    @DisplayName("advice restrito ao UserController")
+    void advice_restricted_to_user_controller() {
+        RestControllerAdvice annotation = AuthCookieAdvice.class.getAnnotation(RestControllerAdvice.class);
+        assertArrayEquals(new Class<?>[]{UserController.class}, annotation.assignableTypes());
+    }
+
     // ---------- beforeBodyWrite(..) ----------
 
     @Test
-    @DisplayName("beforeBodyWrite: seta cookie e limpa TokenHolder quando há token")
-    void beforeBodyWrite_sets_cookie_and_clears_token() throws Exception {
+    @DisplayName("beforeBodyWrite: seta cookie com o token carregado pelo body")
+    void beforeBodyWrite_sets_cookie_from_response_token() throws Exception {
         AuthCookieAdvice advice = new AuthCookieAdvice();
 
         MockHttpServletRequest req = new MockHttpServletRequest();
@@ -96,12 +119,7 @@ class AuthCookieAdviceTest {
         ServletServerHttpRequest httpReq = new ServletServerHttpRequest(req);
         ServletServerHttpResponse httpRes = new ServletServerHttpResponse(res);
 
-        TokenHolder.setToken("jwt123");
-
-        UserAuthResponseDTO body = UserAuthResponseDTO.builder()
-                .username("john")
-                .authenticated(true)
-                .build();
+        UserAuthResponseDTO body = login("jwt123");
 
         Object out = advice.beforeBodyWrite(
                 body,
@@ -124,7 +142,6 @@ class AuthCookieAdviceTest {
         assertTrue(setCookie.contains("Max-Age=6000"));
 
         assertEquals(body, out);
-        assertNull(TokenHolder.getToken(), "TokenHolder deve ser limpo após escrever o cookie");
     }
 
     @Test
@@ -137,12 +154,7 @@ class AuthCookieAdviceTest {
         ServletServerHttpRequest httpReq = new ServletServerHttpRequest(req);
         ServletServerHttpResponse httpRes = new ServletServerHttpResponse(res);
 
-        TokenHolder.clear();
-
-        UserAuthResponseDTO body = UserAuthResponseDTO.builder()
-                .username("john")
-                .authenticated(true)
-                .build();
+        UserAuthResponseDTO body = login(null);
 
         Object out = advice.beforeBodyWrite(
                 body,
@@ -160,8 +172,8 @@ class AuthCookieAdviceTest {
     }
 
     @Test
-    @DisplayName("beforeBodyWrite: body nulo ainda deve setar cookie se houver token")
-    void beforeBodyWrite_null_body_still_sets_cookie_if_token() throws Exception {
+    @DisplayName("beforeBodyWrite: body nulo ou de outro tipo não seta cookie")
+    void beforeBodyWrite_other_bodies_no_cookie() throws Exception {
         AuthCookieAdvice advice = new AuthCookieAdvice();
 
         MockHttpServletRequest req = new MockHttpServletRequest();
@@ -169,24 +181,14 @@ class AuthCookieAdviceTest {
         ServletServerHttpRequest httpReq = new ServletServerHttpRequest(req);
         ServletServerHttpResponse httpRes = new ServletServerHttpResponse(res);
 
-        TokenHolder.setToken("jwt123");
-
-        Object out = advice.beforeBodyWrite(
-                null,
-                returnType("dto"),
-                MediaType.APPLICATION_JSON,
-                MappingJackson2HttpMessageConverter.class,
-                httpReq,
-                httpRes
-        );
+        assertNull(advice.beforeBodyWrite(null, returnType("dto"), MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class, httpReq, httpRes));
+        assertEquals("jwt123", advice.beforeBodyWrite("jwt123", returnType("str"), MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class, httpReq, httpRes));
 
         httpRes.flush();
 
-        String setCookie = res.getHeader(HttpHeaders.SET_COOKIE);
-        assertNotNull(setCookie);
-        assertTrue(setCookie.contains("ACCESS_TOKEN=jwt123"));
-        assertNull(out);
-        assertNull(TokenHolder.getToken());
+        assertNull(res.getHeader(HttpHeaders.SET_COOKIE));
     }
 
     @Test
@@ -199,12 +201,7 @@ class AuthCookieAdviceTest {
         ServerHttpResponse httpRes = mock(ServerHttpResponse.class);
         when(httpRes.getHeaders()).thenReturn(headers);
 
-        TokenHolder.setToken("jwt123");
-
-        UserAuthResponseDTO body = UserAuthResponseDTO.builder()
-                .username("john")
-                .authenticated(true)
-                .build();
+        UserAuthResponseDTO body = login("jwt123");
 
         Object out = advice.beforeBodyWrite(
                 body,
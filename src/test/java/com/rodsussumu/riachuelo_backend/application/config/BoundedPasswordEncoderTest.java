@@ -0,0 +1,94 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.PasswordHashingBusyException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.PasswordHashingInterruptedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    @DisplayName("delegates encode, matches and upgradeEncoding")
+    void delegates() {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode("secret")).thenReturn("hash");
+        when(delegate.matches("secret", "hash")).thenReturn(true);
+        when(delegate.upgradeEncoding("hash")).thenReturn(true);
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, 1, 1)) {
+            assertEquals("hash", encoder.encode("secret"));
+            assertTrue(encoder.matches("secret", "hash"));
+            assertTrue(encoder.upgradeEncoding("hash"));
+        }
+    }
+
+    @Test
+    @DisplayName("rethrows runtime exceptions raised while hashing")
+    void propagatesRuntimeExceptions() {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode(any())).thenThrow(new IllegalArgumentException("boom"));
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, 1, 1)) {
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> encoder.encode("secret"));
+            assertEquals("boom", ex.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("fails fast when every hashing thread is busy and the queue is full")
+    void rejectsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, 1, 1)) {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+            while (encoder.queuedTasks() == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+
+            release.countDown();
+            assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("an interrupted caller keeps its interrupt flag and is not reported as busy")
+    void interruptedCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            release.await();
+            return "hash";
+        });
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, 1, 1)) {
+            Thread.currentThread().interrupt();
+            PasswordHashingInterruptedException ex = assertThrows(PasswordHashingInterruptedException.class,
+                    () -> encoder.encode("secret"));
+
+            assertTrue(Thread.interrupted());
+            assertInstanceOf(InterruptedException.class, ex.getCause());
+        } finally {
+            release.countDown();
+        }
+    }
+}
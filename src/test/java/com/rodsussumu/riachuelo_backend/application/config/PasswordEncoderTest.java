@@ -0,0 +1,57 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderTest {
+
+    private final PasswordEncoder encoder = new SecurityConfig(null, null, null).passwordEncoder(5, 1, 10);
+
+    @AfterEach
+    void tearDown() {
+        ((BoundedPasswordEncoder) encoder).close();
+    }
+
+    @Test
+    @DisplayName("encode produces a prefixed bcrypt hash at the configured cost")
+    void encodesPrefixedHash() {
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$05$"), hash);
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    @DisplayName("legacy hashes without an id still match and are flagged for rehash")
+    void legacyHashMatchesAndUpgrades() {
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.matches("secret", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    @DisplayName("hashes with a higher or lower cost are flagged for rehash")
+    void differentCostUpgrades() {
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(6).encode("secret")));
+    }
+
+    @Test
+    @DisplayName("AdaptiveBCryptPasswordEncoder ignores values that are not bcrypt hashes")
+    void adaptiveIgnoresUnknownFormats() {
+        AdaptiveBCryptPasswordEncoder adaptive = new AdaptiveBCryptPasswordEncoder(10);
+
+        assertFalse(adaptive.upgradeEncoding(null));
+        assertFalse(adaptive.upgradeEncoding(""));
+        assertFalse(adaptive.upgradeEncoding("plain"));
+        assertTrue(adaptive.upgradeEncoding("$2b$12$abcdefghijklmnopqrstuv"));
+    }
+}
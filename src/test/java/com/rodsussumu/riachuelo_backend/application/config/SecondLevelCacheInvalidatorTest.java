@@ -0,0 +1,112 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import com.rodsussumu.riachuelo_backend.application.enums.TaskChangeTypeEnum;
+import com.rodsussumu.riachuelo_backend.application.events.TaskChangedEvent;
+import com.rodsussumu.riachuelo_backend.application.events.UserChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SecondLevelCacheInvalidatorTest {
+
+    /** Delivers every message to every subscriber, the sender included, like a pub/sub topic. */
+    static class TopicChannel implements CacheInvalidationChannel {
+        final List<CacheInvalidation> published = new ArrayList<>();
+        final List<Consumer<CacheInvalidation>> listeners = new ArrayList<>();
+
+        @Override
+        public void publish(CacheInvalidation invalidation) {
+            published.add(invalidation);
+            listeners.forEach(listener -> listener.accept(invalidation));
+        }
+
+        @Override
+        public void subscribe(Consumer<CacheInvalidation> listener) {
+            listeners.add(listener);
+        }
+    }
+
+    TopicChannel channel;
+    Cache localCache;
+    Cache remoteCache;
+    SecondLevelCacheInvalidator local;
+    SecondLevelCacheInvalidator remote;
+
+    @BeforeEach
+    void setUp() {
+        channel = new TopicChannel();
+        localCache = mock(Cache.class);
+        remoteCache = mock(Cache.class);
+        local = new SecondLevelCacheInvalidator(entityManagerFactory(localCache), channel);
+        remote = new SecondLevelCacheInvalidator(entityManagerFactory(remoteCache), channel);
+    }
+
+    private static EntityManagerFactory entityManagerFactory(Cache cache) {
+        EntityManagerFactory emf = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(emf.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        return emf;
+    }
+
+    @Test
+    @DisplayName("a task change evicts the same ids on the other nodes only")
+    void taskChange_evictsRemoteEntries() {
+        local.onTaskChanged(new TaskChangedEvent(1L, TaskChangeTypeEnum.UPDATED, List.of(10L, 11L)));
+
+        assertEquals(1, channel.published.size());
+        assertEquals(local.origin(), channel.published.get(0).origin());
+        verify(remoteCache).evictEntityData(SecondLevelCacheInvalidator.TASK, 10L);
+        verify(remoteCache).evictEntityData(SecondLevelCacheInvalidator.TASK, 11L);
+        verifyNoInteractions(localCache);
+    }
+
+    @Test
+    @DisplayName("a bulk task change drops the whole task region on the other nodes")
+    void bulkTaskChange_evictsRegion() {
+        local.onTaskChanged(TaskChangedEvent.bulk(1L, TaskChangeTypeEnum.DELETED));
+
+        verify(remoteCache).evictEntityData(SecondLevelCacheInvalidator.TASK);
+        verify(remoteCache, never()).evictQueryRegion(any());
+    }
+
+    @Test
+    @DisplayName("a user change evicts the user and the username query region")
+    void userChange_evictsUserAndQueryRegion() {
+        remote.onUserChanged(new UserChangedEvent(5L, "alice"));
+
+        verify(localCache).evictEntityData(SecondLevelCacheInvalidator.USER, 5L);
+        verify(localCache).evictQueryRegion("users-by-username");
+        verifyNoInteractions(remoteCache);
+    }
+
+    @Test
+    @DisplayName("messages for other caches sharing the channel are ignored")
+    void otherRegions_areIgnored() {
+        channel.publish(new CacheInvalidation("elsewhere", "TaskList", List.of(1L), null));
+
+        verifyNoInteractions(localCache, remoteCache);
+    }
+
+    @Test
+    @DisplayName("the single-node channel publishes nowhere")
+    void localChannel_isNoOp() {
+        Cache cache = mock(Cache.class);
+        SecondLevelCacheInvalidator invalidator =
+                new SecondLevelCacheInvalidator(entityManagerFactory(cache), new LocalCacheInvalidationChannel());
+
+        invalidator.onUserChanged(new UserChangedEvent(null, "alice"));
+
+        verifyNoInteractions(cache);
+    }
+}
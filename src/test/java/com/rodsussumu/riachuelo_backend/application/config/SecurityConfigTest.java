@@ -18,7 +18,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -84,11 +83,27 @@ class SecurityConfigTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @DisplayName("GET /actuator/health is permitAll")
+    void health_permitAll() throws Exception {
+        mvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /actuator/metrics requires authentication -> 401 without user")
+    void metrics_requiresAuthentication_unauthorized() throws Exception {
+        mvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(get("/actuator/metrics/hibernate.statements"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     @WithMockUser
     @DisplayName("GET /tasks returns 200 with authenticated user")
     void tasks_allowsAuthenticated() throws Exception {
-        when(taskService.listAll(isNull(), isNull())).thenReturn(List.of());
+        when(taskService.listAll(any())).thenReturn(List.of());
         mvc.perform(get("/tasks"))
                 .andExpect(status().isOk());
     }
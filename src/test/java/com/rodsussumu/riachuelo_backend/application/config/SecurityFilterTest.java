@@ -16,6 +16,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -28,6 +30,9 @@ class SecurityFilterTest {
   @Mock
   org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
 
+  @Mock
+  TokenVersionRegistry tokenVersionRegistry;
+
   @Mock
   FilterChain filterChain;
 
@@ -35,7 +40,7 @@ class SecurityFilterTest {
 
   @BeforeEach
   void setup() {
-    filter = new SecurityFilter(tokenService, userDetailsService);
+    filter = new SecurityFilter(tokenService, userDetailsService, tokenVersionRegistry, false);
   }
 
   @AfterEach
@@ -244,4 +249,100 @@ class SecurityFilterTest {
     assertNull(SecurityContextHolder.getContext().getAuthentication());
     verify(userDetailsService, never()).loadUserByUsername(anyString());
   }
+
+  @Test
+  @DisplayName("stateless mode should authenticate from token claims without loading the user")
+  void stateless_authenticates_from_claims() throws Exception {
+    filter = new SecurityFilter(tokenService, userDetailsService, tokenVersionRegistry, true);
+    MockHttpServletRequest req = new MockHttpServletRequest();
+    req.setServletPath("/tasks");
+    req.addHeader("Authorization", "Bearer abc");
+    MockHttpServletResponse res = new MockHttpServletResponse();
+
+    when(tokenService.verify("abc")).thenReturn(new VerifiedToken("john", 7L, 0, Instant.now().plusSeconds(60)));
+    when(tokenVersionRegistry.isCurrent(7L, 0)).thenReturn(true);
+
+    filter.doFilter(req, res, filterChain);
+
+    verify(filterChain).doFilter(ArgumentMatchers.any(), ArgumentMatchers.any());
+    AuthenticatedUser principal = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    assertEquals(7L, principal.id());
+    assertEquals("john", principal.getUsername());
+    verifyNoInteractions(userDetailsService);
+  }
+
+  @Test
+  @DisplayName("stateless mode should reject tokens whose version was revoked")
+  void stateless_rejects_revoked_version() throws Exception {
+    filter = new SecurityFilter(tokenService, userDetailsService, tokenVersionRegistry, true);
+    MockHttpServletRequest req = new MockHttpServletRequest();
+    req.setServletPath("/tasks");
+    req.addHeader("Authorization", "Bearer abc");
+    MockHttpServletResponse res = new MockHttpServletResponse();
+
+    when(tokenService.verify("abc")).thenReturn(new VerifiedToken("john", 7L, 0, Instant.now().plusSeconds(60)));
+    when(tokenVersionRegistry.isCurrent(7L, 0)).thenReturn(false);
+
+    filter.doFilter(req, res, filterChain);
+
+    verify(filterChain).doFilter(ArgumentMatchers.any(), ArgumentMatchers.any());
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+    verifyNoInteractions(userDetailsService);
+  }
+
+  @Test
+  @DisplayName("stateless mode falls back to user lookup for tokens without user id claim")
+  void stateless_falls_back_without_claims() throws Exception {
+    filter = new SecurityFilter(tokenService, userDetailsService, tokenVersionRegistry, true);
+    MockHttpServletRequest req = new MockHttpServletRequest();
+    req.setServletPath("/tasks");
+    req.addHeader("Authorization", "Bearer abc");
+    MockHttpServletResponse res = new MockHttpServletResponse();
+
+    when(tokenService.verify("abc")).thenReturn(new VerifiedToken("john", null, null, Instant.now().plusSeconds(60)));
+    when(tokenService.validateToken("abc")).thenReturn("john");
+    UserDetails user = User.withUsername("john").password("x").build();
+    when(userDetailsService.loadUserByUsername("john")).thenReturn(user);
+
+    filter.doFilter(req, res, filterChain);
+
+    assertEquals("john", ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getUsername());
+    verifyNoInteractions(tokenVersionRegistry);
+  }
+
+  @Test
+  @DisplayName("should not authenticate a token issued before the user's version was bumped")
+  void rejects_token_older_than_user_version() throws Exception {
+    MockHttpServletRequest req = new MockHttpServletRequest();
+    req.setServletPath("/tasks");
+    req.addHeader("Authorization", "Bearer abc");
+    MockHttpServletResponse res = new MockHttpServletResponse();
+
+    when(tokenService.validateToken("abc")).thenReturn("john");
+    when(tokenService.verify("abc")).thenReturn(new VerifiedToken("john", 7L, 0, Instant.now().plusSeconds(60)));
+    when(userDetailsService.loadUserByUsername("john")).thenReturn(new AuthenticatedUser(7L, "john", null, 1));
+
+    filter.doFilter(req, res, filterChain);
+
+    verify(filterChain).doFilter(ArgumentMatchers.any(), ArgumentMatchers.any());
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  @Test
+  @DisplayName("should not keep the password hash in the security context")
+  void loaded_principal_drops_password() throws Exception {
+    MockHttpServletRequest req = new MockHttpServletRequest();
+    req.setServletPath("/tasks");
+    req.addHeader("Authorization", "Bearer abc");
+    MockHttpServletResponse res = new MockHttpServletResponse();
+
+    when(tokenService.validateToken("abc")).thenReturn("john");
+    when(userDetailsService.loadUserByUsername("john")).thenReturn(new AuthenticatedUser(7L, "john", "$2a$10$hash", 0));
+
+    filter.doFilter(req, res, filterChain);
+
+    AuthenticatedUser principal = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    assertEquals(7L, principal.id());
+    assertNull(principal.password());
+  }
 }
@@ -5,6 +5,7 @@ import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.GenerateTokenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,6 +24,7 @@ import static org.mockito.Mockito.when;
 class TokenServiceTest {
 
     private TokenService service;
+    private SimpleMeterRegistry registry;
 
     @BeforeEach
     void setup() throws Exception {
@@ -30,6 +32,16 @@ class TokenServiceTest {
         Field f = TokenService.class.getDeclaredField("secretKey");
         f.setAccessible(true);
         f.set(service, "test-secret");
+        registry = new SimpleMeterRegistry();
+        service.bindTo(registry);
+    }
+
+    private double gets(String result) {
+        return registry.get("cache.gets").tag("cache", "verifiedTokens").tag("result", result).functionCounter().count();
+    }
+
+    private double cachedTokens() {
+        return registry.get("cache.size").tag("cache", "verifiedTokens").gauge().value();
     }
 
     @Test
@@ -71,6 +83,47 @@ class TokenServiceTest {
         assertEquals("", subject);
     }
 
+    @Test
+    @DisplayName("generateToken should embed user id and token version claims")
+    void generateToken_embedsUserClaims() {
+        String token = service.generateToken("dave", 42L, 3);
+
+        VerifiedToken verified = service.verify(token);
+
+        assertEquals("dave", verified.subject());
+        assertEquals(42L, verified.userId());
+        assertEquals(3, verified.tokenVersion());
+    }
+
+    @Test
+    @DisplayName("verify should return null for invalid token")
+    void verify_returnsNull_whenInvalid() {
+        assertNull(service.verify("not-a-jwt"));
+    }
+
+    @Test
+    @DisplayName("validateToken should serve a repeated token from the verified cache and publish the counts")
+    void validateToken_usesCacheOnRepeatedToken() {
+        String token = service.generateToken("carol");
+
+        assertEquals("carol", service.validateToken(token));
+        assertEquals("carol", service.validateToken(token));
+
+        assertEquals(1, gets("miss"));
+        assertEquals(1, gets("hit"));
+        assertEquals(1, cachedTokens());
+    }
+
+    @Test
+    @DisplayName("validateToken should not cache tokens that fail verification")
+    void validateToken_doesNotCacheInvalidToken() {
+        assertEquals("", service.validateToken("not-a-jwt"));
+        assertEquals("", service.validateToken("not-a-jwt"));
+
+        assertEquals(0, cachedTokens());
+        assertEquals(0, gets("hit"));
+    }
+
     @Test
     @DisplayName("generateToken lança GenerateTokenException quando sign dispara JWTCreationException")
     void generateToken_throwGenerateTokenException_onJwtCreationFailure() {
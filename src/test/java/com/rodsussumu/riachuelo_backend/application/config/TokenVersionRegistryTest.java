@@ -0,0 +1,77 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
+import com.rodsussumu.riachuelo_backend.application.repositories.UserTokenVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionRegistryTest {
+
+    @Mock
+    UserRepository userRepository;
+
+    private UserTokenVersion version(Long id, int tokenVersion) {
+        return new UserTokenVersion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public int getTokenVersion() {
+                return tokenVersion;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("tokens are current until the user's version is bumped")
+    void isCurrent_comparesAgainstRefreshedVersions() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, true);
+        assertTrue(registry.isCurrent(1L, 0));
+
+        when(userRepository.findRevokedTokenVersions()).thenReturn(List.of(version(1L, 2)));
+        registry.refresh();
+
+        assertFalse(registry.isCurrent(1L, 0));
+        assertFalse(registry.isCurrent(1L, null));
+        assertTrue(registry.isCurrent(1L, 2));
+        assertTrue(registry.isCurrent(2L, 0));
+    }
+
+    @Test
+    @DisplayName("refresh does not touch the database when stateless mode is off")
+    void refresh_skippedWhenDisabled() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, false);
+
+        registry.refresh();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("revoke applies at once and a later refresh never lowers it")
+    void revoke_appliesBeforeRefresh() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, true);
+
+        registry.revoke(1L, 3);
+
+        assertFalse(registry.isCurrent(1L, 2));
+        assertTrue(registry.isCurrent(1L, 3));
+
+        when(userRepository.findRevokedTokenVersions()).thenReturn(List.of(version(1L, 1), version(2L, 1)));
+        registry.refresh();
+
+        assertFalse(registry.isCurrent(1L, 2));
+        assertFalse(registry.isCurrent(2L, 0));
+    }
+}
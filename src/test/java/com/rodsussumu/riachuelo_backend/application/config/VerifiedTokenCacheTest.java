@@ -0,0 +1,125 @@
+package com.rodsussumu.riachuelo_backend.application.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2025-01-01T10:00:00Z"));
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    };
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private VerifiedToken expiringIn(String subject, Duration ttl) {
+        return new VerifiedToken(subject, 1L, 0, now.get().plus(ttl));
+    }
+
+    private VerifiedTokenCache cache(int maxEntries) {
+        VerifiedTokenCache cache = new VerifiedTokenCache(maxEntries, clock);
+        cache.bindTo(registry, "verifiedTokens");
+        return cache;
+    }
+
+    private double gets(String result) {
+        return registry.get("cache.gets").tag("cache", "verifiedTokens").tag("result", result).functionCounter().count();
+    }
+
+    private double evictions() {
+        return registry.get("cache.evictions").tag("cache", "verifiedTokens").functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("get returns cached token and counts hit and miss")
+    void get_countsHitsAndMisses() {
+        VerifiedTokenCache cache = cache(10);
+
+        assertNull(cache.get("jwt"));
+        cache.put("jwt", expiringIn("alice", Duration.ofMinutes(5)));
+
+        assertEquals("alice", cache.get("jwt").subject());
+        assertEquals(1, gets("hit"));
+        assertEquals(1, gets("miss"));
+    }
+
+    @Test
+    @DisplayName("get evicts entry once token exp is reached")
+    void get_evictsExpired() {
+        VerifiedTokenCache cache = cache(10);
+        cache.put("jwt", expiringIn("alice", Duration.ofSeconds(30)));
+
+        now.set(now.get().plusSeconds(30));
+
+        assertNull(cache.get("jwt"));
+        assertEquals(0, cache.size());
+        assertEquals(1, evictions());
+    }
+
+    @Test
+    @DisplayName("put ignores tokens without exp or already expired")
+    void put_ignoresNonExpiringAndExpired() {
+        VerifiedTokenCache cache = cache(10);
+
+        cache.put("no-exp", new VerifiedToken("alice", 1L, 0, null));
+        cache.put("expired", expiringIn("bob", Duration.ofSeconds(-1)));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("put keeps cache bounded, dropping expired entries first")
+    void put_keepsCacheBounded() {
+        VerifiedTokenCache cache = cache(2);
+        cache.put("short", expiringIn("a", Duration.ofSeconds(10)));
+        cache.put("long", expiringIn("b", Duration.ofMinutes(10)));
+
+        now.set(now.get().plusSeconds(20));
+        cache.put("new", expiringIn("c", Duration.ofMinutes(10)));
+
+        assertEquals(2, cache.size());
+        assertEquals("b", cache.get("long").subject());
+        assertEquals("c", cache.get("new").subject());
+        assertEquals(1, evictions());
+
+        cache.put("another", expiringIn("d", Duration.ofMinutes(10)));
+        assertEquals(2, cache.size());
+        assertEquals(2, evictions());
+    }
+
+    @Test
+    @DisplayName("put stays bounded when every cached token is still valid")
+    void put_boundedWithoutExpiredEntries() {
+        VerifiedTokenCache cache = cache(100);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("jwt-" + i, expiringIn("user-" + i, Duration.ofMinutes(10)));
+        }
+
+        assertEquals(100, cache.size());
+        assertEquals(9_900, evictions());
+    }
+}
@@ -0,0 +1,358 @@
+package com.rodsussumu.riachuelo_backend.application.controllers;
+
+import com.rodsussumu.riachuelo_backend.application.config.TokenService;
+import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.models.Task;
+import com.rodsussumu.riachuelo_backend.application.models.User;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskQuery;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskRepository;
+import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
+import com.rodsussumu.riachuelo_backend.application.support.QueryCount;
+import com.rodsussumu.riachuelo_backend.application.support.QueryCountBaseline;
+import com.rodsussumu.riachuelo_backend.application.support.QueryCountConfiguration;
+import com.rodsussumu.riachuelo_backend.application.support.SqlStatementRecorder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Import(QueryCountConfiguration.class)
+class QueryCountBaselineTest {
+
+    private static final QueryCountBaseline BASELINE = new QueryCountBaseline();
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    SqlStatementRecorder recorder;
+
+    @Autowired
+    TokenService tokenService;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    User owner;
+    User other;
+    Task owned;
+    Task foreign;
+    String token;
+    final List<String> registered = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("qc-" + System.nanoTime())
+                .password(passwordEncoder.encode("secret"))
+                .build());
+        other = userRepository.save(User.builder().username("qc-other-" + System.nanoTime()).password("x").build());
+        owned = save(owner, "a");
+        save(owner, "b");
+        save(owner, "c");
+        foreign = save(other, "x");
+        token = tokenService.generateToken(owner.getUsername(), owner.getId(), owner.getTokenVersion());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.bulkDelete(TaskQuery.builder().userId(owner.getId()).build());
+        taskRepository.bulkDelete(TaskQuery.builder().userId(other.getId()).build());
+        userRepository.deleteAllById(List.of(owner.getId(), other.getId()));
+        registered.forEach(username -> userRepository.findByUsername(username).ifPresent(userRepository::delete));
+    }
+
+    @AfterAll
+    static void writeReport() throws Exception {
+        BASELINE.writeReport();
+    }
+
+    private Task save(User user, String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(StatusEnum.PENDING);
+        task.setDueDate(new Date());
+        task.setUser(user);
+        return taskRepository.save(task);
+    }
+
+    private MockHttpServletRequestBuilder auth(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    /** Baselines are cold-cache counts; {@link #measureWarm} covers the cached path. */
+    private QueryCount measure(String operation, RequestBuilder request, int expectedStatus) throws Exception {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        return measureWarm(operation, request, expectedStatus);
+    }
+
+    private QueryCount measureWarm(String operation, RequestBuilder request, int expectedStatus) throws Exception {
+        QueryCount count = recorder.record(() -> mvc.perform(request).andExpect(status().is(expectedStatus)));
+        BASELINE.assertWithinBaseline(operation, count);
+        return count;
+    }
+
+    @Test
+    @DisplayName("GET /tasks")
+    void list() throws Exception {
+        measure("TaskController.list", auth(get("/tasks")), 200);
+    }
+
+    @Test
+    @DisplayName("GET /tasks again is served from the list cache until a task changes")
+    void listCached() throws Exception {
+        measure("TaskController.list", auth(get("/tasks")), 200);
+        measureWarm("TaskController.list.cached", auth(get("/tasks")), 200);
+
+        mvc.perform(auth(patch("/tasks/" + owned.getId() + "/status"))
+                .contentType(APPLICATION_JSON)
+                .content("{\"status\":\"DONE\"}")).andExpect(status().isOk());
+        mvc.perform(auth(get("/tasks").param("status", "DONE")))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(owned.getId()));
+        mvc.perform(auth(get("/tasks"))).andExpect(jsonPath("$[0].status").value("DONE"));
+    }
+
+    @Test
+    @DisplayName("GET /tasks and GET /tasks/{id} with a current ETag answer 304")
+    void conditionalGet() throws Exception {
+        String etag = mvc.perform(auth(get("/tasks")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+        String itemEtag = mvc.perform(auth(get("/tasks/" + owned.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + owned.getVersion() + "\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        measure("TaskController.list.notModified", auth(get("/tasks")).header("If-None-Match", etag), 304);
+        measure("TaskController.listById.notModified",
+                auth(get("/tasks/" + owned.getId())).header("If-None-Match", itemEtag), 304);
+
+        mvc.perform(auth(delete("/tasks/" + Long.MAX_VALUE))).andExpect(status().isNotFound());
+        mvc.perform(auth(get("/tasks")).header("If-None-Match", etag)).andExpect(status().isNotModified());
+
+        mvc.perform(auth(delete("/tasks/" + owned.getId()))).andExpect(status().isNoContent());
+        mvc.perform(auth(get("/tasks")).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", org.hamcrest.Matchers.not(etag)))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /tasks with keyset and offset pagination")
+    void listPage() throws Exception {
+        measure("TaskController.list.keyset", auth(get("/tasks").param("size", "2")), 200);
+        measure("TaskController.list.offset", auth(get("/tasks").param("page", "0").param("size", "2")), 200);
+    }
+
+    @Test
+    @DisplayName("GET /tasks/export streams from a single query")
+    void export() throws Exception {
+        QueryCount count = measure("TaskController.export", auth(get("/tasks/export").param("format", "csv")), 200);
+        assertEquals(1, count.countMatching("from tb_tasks"));
+    }
+
+    @Test
+    @DisplayName("GET /tasks/{id} for an owned and a foreign task")
+    void listById() throws Exception {
+        measure("TaskController.listById", auth(get("/tasks/" + owned.getId())), 200);
+        measure("TaskController.listById.forbidden", auth(get("/tasks/" + foreign.getId())), 403);
+    }
+
+    @Test
+    @DisplayName("GET /tasks/{id} again is served from the second-level cache")
+    void listByIdCached() throws Exception {
+        measure("TaskController.listById", auth(get("/tasks/" + owned.getId())), 200);
+        measureWarm("TaskController.listById.cached", auth(get("/tasks/" + owned.getId())), 200);
+    }
+
+    @Test
+    @DisplayName("GET /tasks/{id} from a warm cache sees a committed status change")
+    void listByIdCached_seesUpdates() throws Exception {
+        mvc.perform(auth(get("/tasks/" + owned.getId()))).andExpect(jsonPath("$.status").value("PENDING"));
+        mvc.perform(auth(patch("/tasks/" + owned.getId() + "/status"))
+                .contentType(APPLICATION_JSON)
+                .content("{\"status\":\"DONE\"}")).andExpect(status().isOk());
+
+        mvc.perform(auth(get("/tasks/" + owned.getId()))).andExpect(jsonPath("$.status").value("DONE"));
+    }
+
+    @Test
+    @DisplayName("second-level cache statistics are exposed as metrics")
+    void cacheMetrics() throws Exception {
+        mvc.perform(auth(get("/tasks/" + owned.getId()))).andExpect(status().isOk());
+
+        mvc.perform(auth(get("/actuator/metrics/hibernate.second.level.cache.requests")).param("tag", "region:tasks"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("PUT /tasks/{id} never loads the owner through the task")
+    void update() throws Exception {
+        QueryCount count = measure("TaskController.update", auth(put("/tasks/" + owned.getId()))
+                .contentType(APPLICATION_JSON)
+                .content("{\"title\":\"renamed\"}"), 200);
+        assertEquals(1, count.countMatching("from tb_users"), "only the authentication path should read tb_users");
+    }
+
+    @Test
+    @DisplayName("PUT /tasks/{id} with a current If-Match on a warm cache is a single versioned UPDATE")
+    void updateCached() throws Exception {
+        String etag = mvc.perform(auth(get("/tasks/" + owned.getId())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        QueryCount count = measureWarm("TaskController.update.cached", auth(put("/tasks/" + owned.getId()))
+                .header("If-Match", etag)
+                .contentType(APPLICATION_JSON)
+                .content("{\"title\":\"renamed\"}"), 200);
+        assertEquals(1, count.countMatching("update tb_tasks"));
+        assertEquals(0, count.countMatching("from tb_tasks"));
+
+        mvc.perform(auth(patch("/tasks/" + owned.getId() + "/status"))
+                        .header("If-Match", etag)
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"status\":\"DONE\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("TASK_VERSION_MISMATCH"));
+        mvc.perform(auth(get("/tasks/" + owned.getId())))
+                .andExpect(jsonPath("$.title").value("renamed"))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(header().string("ETag", org.hamcrest.Matchers.not(etag)));
+    }
+
+    @Test
+    @DisplayName("PATCH /tasks/{id}/status")
+    void updateStatus() throws Exception {
+        measure("TaskController.updateStatus", auth(patch("/tasks/" + owned.getId() + "/status"))
+                .contentType(APPLICATION_JSON)
+                .content("{\"status\":\"DONE\"}"), 200);
+    }
+
+    @Test
+    @DisplayName("DELETE /tasks/{id}")
+    void deleteTask() throws Exception {
+        measure("TaskController.delete", auth(delete("/tasks/" + owned.getId())), 204);
+    }
+
+    @Test
+    @DisplayName("POST /tasks inserts without loading the owner")
+    void create() throws Exception {
+        QueryCount count = measure("TaskController.create", auth(post("/tasks"))
+                .contentType(APPLICATION_JSON)
+                .content("{\"title\":\"new\"}"), 201);
+        assertEquals(1, count.countMatching("from tb_users"), "only the authentication path should read tb_users");
+        assertEquals(1, count.inserts());
+    }
+
+    @Test
+    @DisplayName("POST /tasks/batch sends the inserts as one JDBC batch")
+    void createBatch() throws Exception {
+        QueryCount count = measure("TaskController.createBatch", auth(post("/tasks/batch"))
+                .contentType(APPLICATION_JSON)
+                .content("[{\"title\":\"n1\"},{\"title\":\"n2\"},{\"title\":\"n3\"}]"), 200);
+        assertEquals(1, count.countMatching("from tb_users"), "only the authentication path should read tb_users");
+        assertEquals(1, count.inserts());
+    }
+
+    @Test
+    @DisplayName("PATCH /tasks/status and DELETE /tasks are one statement each")
+    void bulk() throws Exception {
+        QueryCount update = measure("TaskController.updateStatusBulk", auth(patch("/tasks/status"))
+                .contentType(APPLICATION_JSON)
+                .content("{\"filter\":{\"status\":\"PENDING\"},\"status\":\"DONE\"}"), 200);
+        assertEquals(1, update.updates());
+        QueryCount delete = measure("TaskController.deleteBulk", auth(delete("/tasks").param("status", "DONE")), 200);
+        assertEquals(1, delete.deletes());
+    }
+
+    @Test
+    @DisplayName("POST /auth/register")
+    void register() throws Exception {
+        String username = "qc-new-" + System.nanoTime();
+        registered.add(username);
+        measure("UserController.register", post("/auth/register")
+                .contentType(APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"secret\"}"), 201);
+    }
+
+    @Test
+    @DisplayName("POST /auth/register with a taken username relies on the unique constraint")
+    void registerDuplicate() throws Exception {
+        measure("UserController.register.duplicate", post("/auth/register")
+                .contentType(APPLICATION_JSON)
+                .content("{\"username\":\"" + owner.getUsername() + "\",\"password\":\"secret\"}"), 409);
+    }
+
+    @Test
+    @DisplayName("POST /auth/login")
+    void login() throws Exception {
+        measure("UserController.login", post("/auth/login")
+                .contentType(APPLICATION_JSON)
+                .content("{\"username\":\"" + owner.getUsername() + "\",\"password\":\"secret\"}"), 200);
+    }
+
+    @Test
+    @DisplayName("POST /auth/login rehashes a legacy password hash once")
+    void loginRehash() throws Exception {
+        owner.setPassword(new BCryptPasswordEncoder(4).encode("secret"));
+        userRepository.save(owner);
+
+        measure("UserController.login.rehash", post("/auth/login")
+                .contentType(APPLICATION_JSON)
+                .content("{\"username\":\"" + owner.getUsername() + "\",\"password\":\"secret\"}"), 200);
+
+        String stored = userRepository.findByUsername(owner.getUsername()).orElseThrow().getPassword();
+        assertTrue(stored.startsWith("{bcrypt}"), stored);
+        assertFalse(passwordEncoder.upgradeEncoding(stored));
+    }
+
+    @Test
+    @DisplayName("GET /auth/me")
+    void me() throws Exception {
+        measure("UserController.me", auth(get("/auth/me")), 200);
+    }
+
+    @Test
+    @DisplayName("POST /auth/logout")
+    void logout() throws Exception {
+        measure("UserController.logout", auth(post("/auth/logout")), 204);
+    }
+}
@@ -1,28 +1,55 @@
 package com.rodsussumu.riachuelo_backend.application.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rodsussumu.riachuelo_backend.application.config.AuthenticatedUser;
+import com.rodsussumu.riachuelo_backend.application.dtos.BulkOperationResultDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.BulkStatusUpdateRequestDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.StatusUpdateRequestDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskBatchItemResultDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskBatchResultDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskFilterDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskPageDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.TaskRequestDTO;
+import com.rodsussumu.riachuelo_backend.application.enums.ExportFormatEnum;
 import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.BatchTooLargeException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.EmptySelectionException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidCursorException;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidStatusException;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.OwnershipDeniedException;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.TaskNotFoundException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.TaskVersionMismatchException;
 import com.rodsussumu.riachuelo_backend.application.services.TaskService;
+import com.rodsussumu.riachuelo_backend.application.utils.TaskEventStream;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -42,6 +69,14 @@ class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskEventStream taskEventStream;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     @WithMockUser
     @DisplayName("POST /tasks should return 201 with Location and body")
@@ -72,7 +107,7 @@ class TaskControllerTest {
     @WithMockUser
     @DisplayName("GET /tasks should return 200 with list")
     void list_shouldReturn200() throws Exception {
-        Mockito.when(taskService.listAll(isNull(), isNull())).thenReturn(List.of(
+        Mockito.when(taskService.listAll(any(TaskFilterDTO.class))).thenReturn(List.of(
                 TaskDTO.builder().id(1L).description("A").status(StatusEnum.PENDING).build(),
                 TaskDTO.builder().id(2L).description("B").status(StatusEnum.IN_PROGRESS).build()
         ));
@@ -96,18 +131,43 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.status").value("DONE"));
     }
 
+    @Test
+    @DisplayName("GET /tasks/stream should open the principal's event stream resuming from Last-Event-ID")
+    void stream_shouldStartEventStream() throws Exception {
+        // addFilters = false skips the filter that would copy a request post-processor's user into the context.
+        AuthenticatedUser alice = new AuthenticatedUser(7L, "alice", null, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(alice, null, alice.getAuthorities()));
+        SseEmitter emitter = new SseEmitter();
+        Mockito.when(taskEventStream.subscribe(7L, "abc-3")).thenReturn(emitter);
+
+        MvcResult result = mvc.perform(get("/tasks/stream")
+                        .header("Last-Event-ID", "abc-3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().id("abc-4").name("task").data("{}"));
+        emitter.complete();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("id:abc-4\nevent:task\ndata:{}\n\n"));
+    }
+
     @Test
     @WithMockUser
     @DisplayName("PUT /tasks/{id} should return 200 with updated body")
     void update_shouldReturn200() throws Exception {
         TaskRequestDTO req = TaskRequestDTO.builder().description("Edited").dueDate(new Date()).build();
-        Mockito.when(taskService.updateTask(eq(7L), any(TaskRequestDTO.class)))
-                .thenReturn(TaskDTO.builder().id(7L).description("Edited").status(StatusEnum.PENDING).build());
+        Mockito.when(taskService.updateTask(eq(7L), any(TaskRequestDTO.class), eq("\"3\"")))
+                .thenReturn(TaskDTO.builder().id(7L).description("Edited").status(StatusEnum.PENDING).version(4L).build());
 
         mvc.perform(put("/tasks/7")
+                        .header("If-Match", "\"3\"")
                         .contentType(APPLICATION_JSON)
                         .content(mapper.writeValueAsString(req)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
                 .andExpect(jsonPath("$.id").value(7))
                 .andExpect(jsonPath("$.description").value("Edited"));
     }
@@ -116,7 +176,7 @@ class TaskControllerTest {
     @WithMockUser
     @DisplayName("PATCH /tasks/{id}/status should return 200 with updated status")
     void updateStatus_shouldReturn200() throws Exception {
-        Mockito.when(taskService.updateStatus(8L, "done"))
+        Mockito.when(taskService.updateStatus(8L, "done", null))
                 .thenReturn(TaskDTO.builder().id(8L).status(StatusEnum.DONE).build());
 
         StatusUpdateRequestDTO req = new StatusUpdateRequestDTO("done");
@@ -129,6 +189,21 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.status").value("DONE"));
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("PATCH /tasks/{id}/status should return 412 when If-Match is stale")
+    void updateStatus_shouldReturn412_whenVersionMismatch() throws Exception {
+        Mockito.when(taskService.updateStatus(8L, "done", "\"1\""))
+                .thenThrow(new TaskVersionMismatchException());
+
+        mvc.perform(patch("/tasks/8/status")
+                        .header("If-Match", "\"1\"")
+                        .contentType(APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new StatusUpdateRequestDTO("done"))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("TASK_VERSION_MISMATCH"));
+    }
+
     @Test
     @WithMockUser
     @DisplayName("DELETE /tasks/{id} should return 204")
@@ -171,7 +246,7 @@ class TaskControllerTest {
     @WithMockUser
     @DisplayName("PATCH /tasks/{id}/status should return 400 when status is invalid")
     void updateStatus_shouldReturn400_whenInvalidStatus() throws Exception {
-        Mockito.when(taskService.updateStatus(77L, "DON"))
+        Mockito.when(taskService.updateStatus(77L, "DON", null))
                 .thenThrow(new InvalidStatusException());
 
         StatusUpdateRequestDTO req = new StatusUpdateRequestDTO("DON");
@@ -199,4 +274,231 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.message").value("Task 99 not found."))
                 .andExpect(jsonPath("$.code").value("TASK_NOT_FOUND"));
     }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /tasks with size returns a page and the next cursor header")
+    void list_withSize_returnsCursorHeader() throws Exception {
+        Mockito.when(taskService.listPage(argThat(f -> "dueDateAsc".equals(f.sort())), isNull(), eq(2), isNull()))
+                .thenReturn(TaskPageDTO.builder()
+                        .items(List.of(
+                                TaskDTO.builder().id(1L).status(StatusEnum.PENDING).build(),
+                                TaskDTO.builder().id(2L).status(StatusEnum.PENDING).build()))
+                        .nextCursor("abc")
+                        .build());
+
+        mvc.perform(get("/tasks").param("sort", "dueDateAsc").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TaskController.NEXT_CURSOR_HEADER, "abc"))
+                .andExpect(header().doesNotExist(TaskController.TOTAL_COUNT_HEADER))
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /tasks with page returns the total count header")
+    void list_withPage_returnsTotalHeader() throws Exception {
+        Mockito.when(taskService.listPage(any(TaskFilterDTO.class), eq(1), eq(10), isNull()))
+                .thenReturn(TaskPageDTO.builder()
+                        .items(List.of(TaskDTO.builder().id(11L).status(StatusEnum.DONE).build()))
+                        .totalElements(11L)
+                        .build());
+
+        mvc.perform(get("/tasks").param("page", "1").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TaskController.TOTAL_COUNT_HEADER, "11"))
+                .andExpect(jsonPath("$[0].id").value(11));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /tasks should return 400 when cursor is invalid")
+    void list_shouldReturn400_whenCursorInvalid() throws Exception {
+        Mockito.when(taskService.listPage(any(TaskFilterDTO.class), isNull(), isNull(), eq("bad")))
+                .thenThrow(new InvalidCursorException());
+
+        mvc.perform(get("/tasks").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("TASK_INVALID_CURSOR"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /tasks binds status and the due date range into the filter")
+    void list_bindsFilterParams() throws Exception {
+        Mockito.when(taskService.listAll(any(TaskFilterDTO.class))).thenReturn(List.of());
+
+        mvc.perform(get("/tasks")
+                        .param("status", "DONE")
+                        .param("sort", "titleAsc")
+                        .param("dueFrom", "2025-01-01")
+                        .param("dueTo", "2025-01-31T23:59:59.000Z"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<TaskFilterDTO> filter = ArgumentCaptor.forClass(TaskFilterDTO.class);
+        Mockito.verify(taskService).listAll(filter.capture());
+        assertEquals(StatusEnum.DONE, filter.getValue().status());
+        assertEquals("titleAsc", filter.getValue().sort());
+        assertNotNull(filter.getValue().dueFrom());
+        assertEquals(Instant.parse("2025-01-31T23:59:59Z"), filter.getValue().dueTo().toInstant());
+        assertNull(filter.getValue().dueBefore());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /tasks turns a date-only dueTo into an exclusive bound at the next midnight")
+    void list_dateOnlyDueToCoversTheWholeDay() throws Exception {
+        Mockito.when(taskService.listAll(any(TaskFilterDTO.class))).thenReturn(List.of());
+
+        mvc.perform(get("/tasks").param("dueTo", "2025-01-31"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<TaskFilterDTO> filter = ArgumentCaptor.forClass(TaskFilterDTO.class);
+        Mockito.verify(taskService).listAll(filter.capture());
+        assertNull(filter.getValue().dueTo());
+        assertEquals(LocalDate.of(2025, 2, 1).atStartOfDay(ZoneId.systemDefault()).toInstant(),
+                filter.getValue().dueBefore().toInstant());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /tasks with an unknown sort should return 400")
+    void list_unknownSort_returns400() throws Exception {
+        mvc.perform(get("/tasks").param("sort", "dueDateAscc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("TASK_INVALID_SORT"));
+
+        Mockito.verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /tasks/export streams the service output as an attachment")
+    void export_shouldStreamCsv() throws Exception {
+        Mockito.doAnswer(inv -> {
+            Writer writer = inv.getArgument(2);
+            writer.write("id,title\n1,A\n");
+            return null;
+        }).when(taskService).export(any(TaskFilterDTO.class), eq(ExportFormatEnum.CSV), any(Writer.class));
+
+        mvc.perform(get("/tasks/export").param("format", "csv").param("status", "DONE").param("sort", "TITLEASC"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", org.hamcrest.Matchers.startsWith("text/csv")))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv\""))
+                .andExpect(content().string("id,title\n1,A\n"));
+
+        Mockito.verify(taskService).export(argThat(f -> f.status() == StatusEnum.DONE && "titleAsc".equals(f.sort())),
+                eq(ExportFormatEnum.CSV), any(Writer.class));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /tasks/export should return 400 for an unknown format")
+    void export_shouldReturn400_whenFormatInvalid() throws Exception {
+        mvc.perform(get("/tasks/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("TASK_INVALID_EXPORT_FORMAT"));
+
+        Mockito.verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /tasks/export with an unknown sort should return 400 without attachment headers")
+    void export_shouldReturn400_whenSortInvalid() throws Exception {
+        mvc.perform(get("/tasks/export").param("format", "csv").param("sort", "dueDateAscc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist("Content-Disposition"))
+                .andExpect(jsonPath("$.code").value("TASK_INVALID_SORT"));
+
+        Mockito.verifyNoInteractions(taskService);
+    }
+
+    @Test
+    @DisplayName("GET /tasks/export without a user should return 401 without attachment headers")
+    void export_shouldReturn401_whenAnonymous() throws Exception {
+        mvc.perform(get("/tasks/export").param("format", "csv"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().doesNotExist("Content-Disposition"));
+
+        Mockito.verifyNoInteractions(taskService);
+    }
+
+
+    @Test
+    @WithMockUser
+    @DisplayName("POST /tasks/batch should return per-item results")
+    void createBatch_shouldReturn200() throws Exception {
+        Mockito.when(taskService.createBatch(anyList())).thenReturn(TaskBatchResultDTO.builder()
+                .created(1)
+                .rejected(1)
+                .items(List.of(
+                        TaskBatchItemResultDTO.builder().index(0).id(10L).build(),
+                        TaskBatchItemResultDTO.builder().index(1).error("Task payload is required.").build()))
+                .build());
+
+        mvc.perform(post("/tasks/batch")
+                        .contentType(APPLICATION_JSON)
+                        .content("[{\"title\":\"A\"},null]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(10))
+                .andExpect(jsonPath("$.items[1].error").value("Task payload is required."));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("POST /tasks/batch should return 413 when the batch is too large")
+    void createBatch_shouldReturn413_whenTooLarge() throws Exception {
+        Mockito.when(taskService.createBatch(anyList())).thenThrow(new BatchTooLargeException(5000));
+
+        mvc.perform(post("/tasks/batch")
+                        .contentType(APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.code").value("TASK_BATCH_TOO_LARGE"));
+    }
+
+
+    @Test
+    @WithMockUser
+    @DisplayName("PATCH /tasks/status should return the affected count")
+    void updateStatusBulk_shouldReturn200() throws Exception {
+        Mockito.when(taskService.updateStatusBulk(any(BulkStatusUpdateRequestDTO.class)))
+                .thenReturn(BulkOperationResultDTO.builder().affected(3).build());
+
+        mvc.perform(patch("/tasks/status")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"ids\":[1,2,3],\"status\":\"DONE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+
+        Mockito.verify(taskService).updateStatusBulk(argThat(r ->
+                r.ids().equals(List.of(1L, 2L, 3L)) && "DONE".equals(r.status())));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("DELETE /tasks binds ids and filters and returns the affected count")
+    void deleteBulk_shouldReturn200() throws Exception {
+        Mockito.when(taskService.deleteBulk(eq(List.of(4L, 5L)), any(TaskFilterDTO.class)))
+                .thenReturn(BulkOperationResultDTO.builder().affected(2).build());
+
+        mvc.perform(delete("/tasks").param("ids", "4,5").param("status", "DONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        Mockito.verify(taskService).deleteBulk(eq(List.of(4L, 5L)), argThat(f -> f.status() == StatusEnum.DONE));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("DELETE /tasks should return 400 when nothing is selected")
+    void deleteBulk_shouldReturn400_whenSelectionEmpty() throws Exception {
+        Mockito.when(taskService.deleteBulk(isNull(), any(TaskFilterDTO.class))).thenThrow(new EmptySelectionException());
+
+        mvc.perform(delete("/tasks"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("TASK_EMPTY_SELECTION"));
+    }
 }
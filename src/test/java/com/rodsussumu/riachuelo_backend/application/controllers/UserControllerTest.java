@@ -85,6 +85,27 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.authenticated").value(true));
     }
 
+    @Test
+    @DisplayName("POST /auth/login should set the token cookie without exposing it in the body")
+    void login_shouldSetCookieFromResponseToken() throws Exception {
+        UserAuthResponseDTO out = UserAuthResponseDTO.builder()
+                .username("john")
+                .authenticated(true)
+                .token("jwt123")
+                .build();
+
+        Mockito.when(userService.login(new UserAuthDTO("john", "123")))
+                .thenReturn(out);
+
+        mvc.perform(post("/auth/login")
+                        .contentType(APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new UserAuthDTO("john", "123"))))
+                .andExpect(status().isOk())
+                .andExpect(cookie().value("ACCESS_TOKEN", "jwt123"))
+                .andExpect(cookie().httpOnly("ACCESS_TOKEN", true))
+                .andExpect(jsonPath("$.token").doesNotExist());
+    }
+
     @Test
     @DisplayName("POST /auth/login should return 401 when bad credentials")
     void login_shouldReturn401_whenBadCredentials() throws Exception {
@@ -63,6 +63,27 @@ class GlobalExceptionHandlerTest {
         assertEquals("FORBIDDEN", resp.getBody().code());
     }
 
+    @Test
+    @DisplayName("handleTaskVersionMismatch -> 412")
+    void handleTaskVersionMismatch_412() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        ResponseEntity<ErrorResponseDTO> resp = h.handleTaskVersionMismatch(new TaskVersionMismatchException());
+        assertEquals(412, resp.getStatusCode().value());
+        assertEquals("Precondition Failed", resp.getBody().error());
+        assertEquals("The task changed since it was read. Reload it and try again.", resp.getBody().message());
+        assertEquals("TASK_VERSION_MISMATCH", resp.getBody().code());
+    }
+
+    @Test
+    @DisplayName("handleTaskConcurrentUpdate -> 409")
+    void handleTaskConcurrentUpdate_409() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        ResponseEntity<ErrorResponseDTO> resp = h.handleTaskConcurrentUpdate(new TaskConcurrentUpdateException());
+        assertEquals(409, resp.getStatusCode().value());
+        assertEquals("Conflict", resp.getBody().error());
+        assertEquals("TASK_CONCURRENT_UPDATE", resp.getBody().code());
+    }
+
     @Test
     @DisplayName("handleTaskNotFound -> 404")
     void handleTaskNotFound_404() {
@@ -112,4 +133,67 @@ class GlobalExceptionHandlerTest {
         assertEquals("Error Generating Token", body.message());
         assertEquals("TOKEN_GENERATION_ERROR", body.code());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("handleInvalidSort -> 400")
+    void handleInvalidSort_400() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        ResponseEntity<ErrorResponseDTO> resp = h.handleInvalidSort(new InvalidSortException());
+        assertEquals(400, resp.getStatusCode().value());
+        assertEquals("Bad Request", resp.getBody().error());
+        assertEquals("TASK_INVALID_SORT", resp.getBody().code());
+    }
+
+    @Test
+    @DisplayName("handleInvalidCursor -> 400")
+    void handleInvalidCursor_400() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        ResponseEntity<ErrorResponseDTO> resp = h.handleInvalidCursor(new InvalidCursorException());
+        assertEquals(400, resp.getStatusCode().value());
+        assertEquals("Bad Request", resp.getBody().error());
+        assertEquals("TASK_INVALID_CURSOR", resp.getBody().code());
+    }
+
+
+    @Test
+    @DisplayName("handleInvalidExportFormat -> 400")
+    void handleInvalidExportFormat_400() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        ResponseEntity<ErrorResponseDTO> resp = h.handleInvalidExportFormat(new InvalidExportFormatException());
+        assertEquals(400, resp.getStatusCode().value());
+        assertEquals("Bad Request", resp.getBody().error());
+        assertEquals("TASK_INVALID_EXPORT_FORMAT", resp.getBody().code());
+    }
+
+
+    @Test
+    @DisplayName("handleBatchTooLarge -> 413")
+    void handleBatchTooLarge_413() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        ResponseEntity<ErrorResponseDTO> resp = h.handleBatchTooLarge(new BatchTooLargeException(5000));
+        assertEquals(413, resp.getStatusCode().value());
+        assertEquals("Batch exceeds the maximum of 5000 tasks.", resp.getBody().message());
+        assertEquals("TASK_BATCH_TOO_LARGE", resp.getBody().code());
+    }
+
+
+    @Test
+    @DisplayName("handleEmptySelection -> 400")
+    void handleEmptySelection_400() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        ResponseEntity<ErrorResponseDTO> resp = h.handleEmptySelection(new EmptySelectionException());
+        assertEquals(400, resp.getStatusCode().value());
+        assertEquals("Bad Request", resp.getBody().error());
+        assertEquals("TASK_EMPTY_SELECTION", resp.getBody().code());
+    }
+
+    @Test
+    @DisplayName("handlePasswordHashingBusy -> 503")
+    void handlePasswordHashingBusy_503() {
+        GlobalExceptionHandler h = new GlobalExceptionHandler();
+        ResponseEntity<ErrorResponseDTO> resp = h.handlePasswordHashingBusy(new PasswordHashingBusyException());
+        assertEquals(503, resp.getStatusCode().value());
+        assertEquals("Service Unavailable", resp.getBody().error());
+        assertEquals("AUTH_HASHING_BUSY", resp.getBody().code());
+    }
+}
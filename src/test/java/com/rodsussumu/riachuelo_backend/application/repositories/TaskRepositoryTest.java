@@ -0,0 +1,288 @@
+package com.rodsussumu.riachuelo_backend.application.repositories;
+
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskSortEnum;
+import com.rodsussumu.riachuelo_backend.application.models.Task;
+import com.rodsussumu.riachuelo_backend.application.models.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskRepositoryTest {
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    User owner;
+    Task foreign;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().username("repo-" + System.nanoTime()).password("x").build());
+        User other = userRepository.save(User.builder().username("repo-other-" + System.nanoTime()).password("x").build());
+
+        save(owner, "a", 3_000L, StatusEnum.PENDING);
+        save(owner, "b", null, StatusEnum.DONE);
+        save(owner, "c", 1_000L, StatusEnum.PENDING);
+        save(owner, "d", 1_000L, StatusEnum.DONE);
+        save(owner, "e", null, StatusEnum.PENDING);
+        save(owner, "f", 2_000L, StatusEnum.PENDING);
+        foreign = save(other, "x", 1_500L, StatusEnum.PENDING);
+    }
+
+    private Task save(User user, String title, Long due, StatusEnum status) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDueDate(due != null ? new Date(due) : null);
+        task.setStatus(status);
+        task.setUser(user);
+        return taskRepository.save(task);
+    }
+
+    private String explain(String sql) {
+        entityManager.flush();
+        entityManager.createNativeQuery("analyze tb_tasks").executeUpdate();
+        entityManager.createNativeQuery("set local enable_seqscan = off").executeUpdate();
+        List<?> plan = entityManager.createNativeQuery("explain " + sql.replace(":user", owner.getId().toString()))
+                .getResultList();
+        return plan.stream().map(Object::toString).collect(Collectors.joining("\n"));
+    }
+
+    private List<String> walk(TaskSortEnum sort, StatusEnum status, int pageSize) {
+        List<String> titles = new ArrayList<>();
+        TaskCursor after = null;
+        while (true) {
+            List<TaskDTO> page = taskRepository.search(TaskQuery.builder()
+                    .userId(owner.getId())
+                    .status(status)
+                    .sort(sort)
+                    .after(after)
+                    .limit(pageSize)
+                    .build());
+            page.forEach(t -> titles.add(t.title()));
+            if (page.size() < pageSize) {
+                return titles;
+            }
+            after = TaskCursor.after(sort, page.get(page.size() - 1));
+        }
+    }
+
+    @Test
+    @DisplayName("keyset walk on due date ascending visits every task once with nulls last")
+    void search_dueDateAsc() {
+        assertEquals(List.of("c", "d", "f", "a", "b", "e"), walk(TaskSortEnum.DUE_DATE_ASC, null, 2));
+    }
+
+    @Test
+    @DisplayName("keyset walk on due date descending visits every task once with nulls first")
+    void search_dueDateDesc() {
+        assertEquals(List.of("e", "b", "a", "f", "d", "c"), walk(TaskSortEnum.DUE_DATE_DESC, null, 2));
+    }
+
+    @Test
+    @DisplayName("keyset walk on created at respects the status filter")
+    void search_createdAtWithStatus() {
+        assertEquals(List.of("a", "c", "e", "f"), walk(TaskSortEnum.CREATED_AT_ASC, StatusEnum.PENDING, 3));
+    }
+
+    @Test
+    @DisplayName("offset pagination skips the requested rows")
+    void search_offset() {
+        List<TaskDTO> page = taskRepository.search(TaskQuery.builder()
+                .userId(owner.getId())
+                .sort(TaskSortEnum.DUE_DATE_ASC)
+                .offset(2)
+                .limit(2)
+                .build());
+
+        assertEquals(List.of("f", "a"), page.stream().map(TaskDTO::title).toList());
+        assertEquals(6, taskRepository.count(TaskQuery.builder().userId(owner.getId()).build()));
+    }
+
+    @Test
+    @DisplayName("keyset walk on title descending visits every task once")
+    void search_titleDesc() {
+        assertEquals(List.of("f", "e", "d", "c", "b", "a"), walk(TaskSortEnum.TITLE_DESC, null, 4));
+    }
+
+    @Test
+    @DisplayName("keyset walk on status breaks ties by id")
+    void search_statusAsc() {
+        assertEquals(List.of("b", "d", "a", "c", "e", "f"), walk(TaskSortEnum.STATUS_ASC, null, 2));
+    }
+
+    @Test
+    @DisplayName("due date range filter is applied in the query and the count")
+    void search_dueDateRange() {
+        TaskQuery query = TaskQuery.builder()
+                .userId(owner.getId())
+                .dueFrom(new Date(1_000L))
+                .dueTo(new Date(2_000L))
+                .sort(TaskSortEnum.DUE_DATE_DESC)
+                .build();
+
+        assertEquals(List.of("f", "d", "c"), taskRepository.search(query).stream().map(TaskDTO::title).toList());
+        assertEquals(3, taskRepository.count(query));
+    }
+
+    @Test
+    @DisplayName("dueBefore is an exclusive upper bound")
+    void search_dueBeforeIsExclusive() {
+        TaskQuery query = TaskQuery.builder()
+                .userId(owner.getId())
+                .dueBefore(new Date(2_000L))
+                .sort(TaskSortEnum.DUE_DATE_ASC)
+                .build();
+
+        assertEquals(List.of("c", "d"), taskRepository.search(query).stream().map(TaskDTO::title).toList());
+    }
+
+    @Test
+    @DisplayName("status filtered listing by due date uses the (user_id, status, due_date) index")
+    void explain_statusDueDateUsesCompositeIndex() {
+        String plan = explain("select t.id from tb_tasks t where t.user_id = :user and t.status = 'PENDING' "
+                + "and t.due_date >= timestamp '1970-01-01' order by t.due_date, t.id");
+
+        assertTrue(plan.contains("ix_tasks_user_status_due_date"), plan);
+    }
+
+    @Test
+    @DisplayName("default listing by creation date uses the (user_id, created_at) index")
+    void explain_createdAtUsesCompositeIndex() {
+        String plan = explain("select t.id from tb_tasks t where t.user_id = :user order by t.created_at, t.id limit 50");
+
+        assertTrue(plan.contains("ix_tasks_user_created_at"), plan);
+    }
+
+    @Test
+    @DisplayName("stream projects filtered rows to DTOs in the requested order")
+    void stream_projectsToDtos() {
+        try (Stream<TaskDTO> rows = taskRepository.stream(TaskQuery.builder()
+                .userId(owner.getId())
+                .status(StatusEnum.PENDING)
+                .sort(TaskSortEnum.DUE_DATE_ASC)
+                .build())) {
+            List<TaskDTO> tasks = rows.toList();
+
+            assertEquals(List.of("c", "f", "a", "e"), tasks.stream().map(TaskDTO::title).toList());
+            assertTrue(tasks.stream().allMatch(t -> t.status() == StatusEnum.PENDING && t.createdAt() != null));
+        }
+    }
+
+
+    @Test
+    @DisplayName("insertAll assigns pooled sequence ids and sends inserts in JDBC batches")
+    void insertAll_batchesInserts() {
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Task task = new Task();
+            task.setTitle("bulk-" + i);
+            task.setUser(owner);
+            tasks.add(task);
+        }
+        taskRepository.insertAll(tasks);
+
+        assertEquals(120, tasks.stream().map(Task::getId).distinct().filter(id -> id != null).count());
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+                "expected batched inserts but prepared " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(126, taskRepository.count(TaskQuery.builder().userId(owner.getId()).build()));
+        statistics.setStatisticsEnabled(false);
+    }
+
+
+    @Test
+    @DisplayName("bulkUpdateStatus only touches the owner's selected tasks")
+    void bulkUpdateStatus_isOwnershipScoped() {
+        List<Long> ids = new ArrayList<>(taskRepository.search(TaskQuery.builder()
+                        .userId(owner.getId())
+                        .status(StatusEnum.PENDING)
+                        .sort(TaskSortEnum.TITLE_ASC)
+                        .build())
+                .stream().map(TaskDTO::id).toList());
+        ids.add(foreign.getId());
+
+        int affected = taskRepository.bulkUpdateStatus(TaskQuery.builder().userId(owner.getId()).ids(ids).build(),
+                StatusEnum.IN_PROGRESS);
+        entityManager.clear();
+
+        assertEquals(4, affected);
+        assertEquals(4, taskRepository.count(TaskQuery.builder()
+                .userId(owner.getId()).status(StatusEnum.IN_PROGRESS).build()));
+        assertEquals(StatusEnum.PENDING, taskRepository.findById(foreign.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("bulkDelete removes the owner's tasks matching the filter")
+    void bulkDelete_byFilter() {
+        int affected = taskRepository.bulkDelete(TaskQuery.builder()
+                .userId(owner.getId())
+                .dueFrom(new Date(1_000L))
+                .dueTo(new Date(2_000L))
+                .build());
+        entityManager.clear();
+
+        assertEquals(3, affected);
+        assertEquals(List.of("a", "b", "e"), walk(TaskSortEnum.TITLE_ASC, null, 10));
+        assertTrue(taskRepository.existsById(foreign.getId()));
+    }
+
+
+    @Test
+    @DisplayName("deleteByIdAndUserId only removes the caller's task; the probe ignores ownerless rows")
+    void deleteByIdAndUserId_isOwnershipScoped() {
+        Task ownerless = save(null, "z", null, StatusEnum.PENDING);
+        TaskDTO mine = taskRepository.search(TaskQuery.builder()
+                .userId(owner.getId()).sort(TaskSortEnum.TITLE_ASC).limit(1).build()).get(0);
+
+        assertEquals(0, taskRepository.deleteByIdAndUserId(foreign.getId(), owner.getId()));
+        assertEquals(1, taskRepository.deleteByIdAndUserId(mine.id(), owner.getId()));
+        assertFalse(taskRepository.existsById(mine.id()));
+        assertTrue(taskRepository.existsByIdAndUserIsNotNull(foreign.getId()));
+        assertFalse(taskRepository.existsByIdAndUserIsNotNull(ownerless.getId()));
+    }
+
+
+    @Test
+    @DisplayName("search does not load managed entities")
+    void projections_doNotPopulatePersistenceContext() {
+        entityManager.flush();
+        entityManager.clear();
+        Session session = entityManager.unwrap(Session.class);
+
+        List<TaskDTO> tasks = taskRepository.search(TaskQuery.builder()
+                .userId(owner.getId()).sort(TaskSortEnum.CREATED_AT_ASC).build());
+
+        assertEquals(6, tasks.size());
+        assertEquals(0, session.getStatistics().getEntityCount());
+    }
+}
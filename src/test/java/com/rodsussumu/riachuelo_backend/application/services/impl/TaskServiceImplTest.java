@@ -1,26 +1,53 @@
 package com.rodsussumu.riachuelo_backend.application.services.impl;
 
+import com.rodsussumu.riachuelo_backend.application.config.AuthenticatedUser;
+import com.rodsussumu.riachuelo_backend.application.dtos.BulkOperationResultDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.BulkStatusUpdateRequestDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskBatchItemResultDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskBatchResultDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskFilterDTO;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskPageDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.TaskRequestDTO;
+import com.rodsussumu.riachuelo_backend.application.enums.ExportFormatEnum;
 import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskChangeTypeEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskSortEnum;
+import com.rodsussumu.riachuelo_backend.application.events.TaskChangedEvent;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.BatchTooLargeException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.EmptySelectionException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidCursorException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidSortException;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidStatusException;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidTokenException;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.OwnershipDeniedException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.TaskConcurrentUpdateException;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.TaskNotFoundException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.TaskVersionMismatchException;
 import com.rodsussumu.riachuelo_backend.application.mappers.TaskMapper;
 import com.rodsussumu.riachuelo_backend.application.models.Task;
 import com.rodsussumu.riachuelo_backend.application.models.User;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskCursor;
+import com.rodsussumu.riachuelo_backend.application.repositories.TaskQuery;
 import com.rodsussumu.riachuelo_backend.application.repositories.TaskRepository;
 import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
+import com.rodsussumu.riachuelo_backend.application.utils.TaskExportWriter;
 import org.apache.coyote.BadRequestException;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.io.StringWriter;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -38,16 +65,22 @@ class TaskServiceImplTest {
     @Mock
     TaskMapper taskMapper;
 
+    @Mock
+    ApplicationEventPublisher events;
+
     TaskServiceImpl service;
     User currentUser;
 
     @BeforeEach
     void setUp() {
-        service = new TaskServiceImpl(taskRepository, userRepository, taskMapper);
+        service = new TaskServiceImpl(taskRepository, userRepository, taskMapper,
+                new TaskExportWriter(Jackson2ObjectMapperBuilder.json().build()), events);
         currentUser = new User();
         currentUser.setId(1L);
         currentUser.setUsername("alice");
-        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", "pwd"));
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "alice", null, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
     }
 
     @AfterEach
@@ -55,10 +88,6 @@ class TaskServiceImplTest {
         SecurityContextHolder.clearContext();
     }
 
-    private void stubCurrentUser() {
-        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(currentUser));
-    }
-
     private Task task(long id, StatusEnum status, Date due, User user) {
         Task t = new Task();
         t.setId(id);
@@ -70,141 +99,186 @@ class TaskServiceImplTest {
         return t;
     }
 
+    private TaskDTO dto(Task t) {
+        return TaskDTO.builder()
+                .id(t.getId())
+                .title(t.getTitle())
+                .description(t.getDescription())
+                .createdAt(t.getCreatedAt())
+                .dueDate(t.getDueDate())
+                .status(t.getStatus())
+                .build();
+    }
+
     @Test
-    @DisplayName("listAll(null, null) returns user tasks")
+    @DisplayName("listAll without filters returns user tasks")
     void listAll_shouldReturnUserTasks() {
-        stubCurrentUser();
         Task a = task(1, StatusEnum.PENDING, new Date(System.currentTimeMillis() + 86_400_000), currentUser);
         Task b = task(2, StatusEnum.DONE, new Date(System.currentTimeMillis() + 172_800_000), currentUser);
-        when(taskRepository.findByUser(currentUser)).thenReturn(List.of(a, b));
-        when(taskMapper.toDTOList(anyList())).thenAnswer(inv -> {
-            List<Task> in = inv.getArgument(0);
-            List<TaskDTO> out = new ArrayList<>();
-            for (Task t : in) out.add(TaskDTO.builder()
-                    .id(t.getId())
-                    .title(t.getTitle())
-                    .description(t.getDescription())
-                    .status(t.getStatus())
-                    .build());
-            return out;
-        });
+        when(taskRepository.search(any(TaskQuery.class))).thenReturn(List.of(dto(a), dto(b)));
 
-        List<TaskDTO> dtos = service.listAll(null, null);
+        List<TaskDTO> dtos = service.listAll(TaskFilterDTO.builder().build());
 
         assertEquals(2, dtos.size());
         assertEquals("Task 1", dtos.get(0).title());
         assertEquals("Task 2", dtos.get(1).title());
-        verify(taskRepository).findByUser(currentUser);
+        verify(taskRepository).search(argThat(q -> q.userId() == 1L));
     }
 
     @Test
-    @DisplayName("listAll with status filter calls repository by status")
+    @DisplayName("listAll with status filter passes the status to the query")
     void listAll_statusFilter() {
-        stubCurrentUser();
         Task c = task(3, StatusEnum.DONE, new Date(), currentUser);
-        when(taskRepository.findByUserAndStatus(currentUser, StatusEnum.DONE)).thenReturn(List.of(c));
-        when(taskMapper.toDTOList(anyList())).thenReturn(List.of(
-                TaskDTO.builder().id(3L).title("Task 3").description("T3").status(StatusEnum.DONE).build()
-        ));
+        when(taskRepository.search(any(TaskQuery.class))).thenReturn(List.of(dto(c)));
 
-        List<TaskDTO> dtos = service.listAll(StatusEnum.DONE, null);
+        List<TaskDTO> dtos = service.listAll(TaskFilterDTO.builder().status(StatusEnum.DONE).build());
 
         assertEquals(1, dtos.size());
         assertEquals("Task 3", dtos.get(0).title());
+        ArgumentCaptor<TaskQuery> query = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskRepository).search(query.capture());
+        assertEquals(StatusEnum.DONE, query.getValue().status());
     }
 
     @Test
-    @DisplayName("listAll sorts by dueDate ascending")
+    @DisplayName("listAll delegates dueDate ascending sort to the query")
     void listAll_sortDueDateAsc() {
-        stubCurrentUser();
-        Date later = new Date(System.currentTimeMillis() + 172_800_000);
-        Date sooner = new Date(System.currentTimeMillis() + 86_400_000);
-        Task t1 = task(1, StatusEnum.PENDING, later, currentUser);
-        Task t2 = task(2, StatusEnum.PENDING, sooner, currentUser);
-        when(taskRepository.findByUser(currentUser)).thenReturn(new ArrayList<>(List.of(t1, t2)));
-        when(taskMapper.toDTOList(anyList())).thenAnswer(inv -> {
-            List<Task> in = inv.getArgument(0);
-            List<TaskDTO> out = new ArrayList<>();
-            for (Task t : in) out.add(TaskDTO.builder()
-                    .id(t.getId())
-                    .title(t.getTitle())
-                    .description(t.getDescription())
-                    .status(t.getStatus())
-                    .build());
-            return out;
-        });
+        when(taskRepository.search(any(TaskQuery.class))).thenReturn(List.of());
 
-        List<TaskDTO> dtos = service.listAll(null, "dueDateAsc");
+        service.listAll(TaskFilterDTO.builder().sort("dueDateAsc").build());
 
-        assertEquals(List.of(2L, 1L), dtos.stream().map(TaskDTO::id).toList());
+        ArgumentCaptor<TaskQuery> query = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskRepository).search(query.capture());
+        assertEquals(TaskSortEnum.DUE_DATE_ASC, query.getValue().sort());
+        assertNull(query.getValue().limit());
     }
 
     @Test
-    @DisplayName("listAll sorts by dueDate descending")
+    @DisplayName("listAll delegates dueDate descending sort to the query")
     void listAll_sortDueDateDesc() {
-        stubCurrentUser();
-        Date later = new Date(System.currentTimeMillis() + 172_800_000);
-        Date sooner = new Date(System.currentTimeMillis() + 86_400_000);
-        Task t1 = task(1, StatusEnum.PENDING, later, currentUser);
-        Task t2 = task(2, StatusEnum.PENDING, sooner, currentUser);
-        when(taskRepository.findByUser(currentUser)).thenReturn(new ArrayList<>(List.of(t1, t2)));
-        when(taskMapper.toDTOList(anyList())).thenAnswer(inv -> {
-            List<Task> in = inv.getArgument(0);
-            List<TaskDTO> out = new ArrayList<>();
-            for (Task t : in) out.add(TaskDTO.builder()
-                    .id(t.getId())
-                    .title(t.getTitle())
-                    .description(t.getDescription())
-                    .status(t.getStatus())
-                    .build());
-            return out;
-        });
+        when(taskRepository.search(any(TaskQuery.class))).thenReturn(List.of());
 
-        List<TaskDTO> dtos = service.listAll(null, "dueDateDesc");
+        service.listAll(TaskFilterDTO.builder().sort("dueDateDesc").build());
 
-        assertEquals(List.of(1L, 2L), dtos.stream().map(TaskDTO::id).toList());
+        ArgumentCaptor<TaskQuery> query = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskRepository).search(query.capture());
+        assertEquals(TaskSortEnum.DUE_DATE_DESC, query.getValue().sort());
+    }
+
+    @Test
+    @DisplayName("listAll defaults to createdAt ascending and passes the due date range")
+    void listAll_defaultSortAndDueRange() {
+        Date from = new Date(1_700_000_000_000L);
+        Date to = new Date(1_800_000_000_000L);
+        when(taskRepository.search(any(TaskQuery.class))).thenReturn(List.of());
+
+        service.listAll(TaskFilterDTO.builder().dueFrom(from).dueTo(to).build());
+
+        ArgumentCaptor<TaskQuery> query = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskRepository).search(query.capture());
+        assertEquals(TaskSortEnum.CREATED_AT_ASC, query.getValue().sort());
+        assertEquals(from, query.getValue().dueFrom());
+        assertEquals(to, query.getValue().dueTo());
+        assertEquals(1L, query.getValue().userId());
+    }
+
+    @Test
+    @DisplayName("listAll passes an exclusive dueBefore bound to the query")
+    void listAll_passesDueBefore() {
+        Date before = new Date(1_800_000_000_000L);
+        when(taskRepository.search(any(TaskQuery.class))).thenReturn(List.of());
+
+        service.listAll(TaskFilterDTO.builder().dueBefore(before).build());
+
+        ArgumentCaptor<TaskQuery> query = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskRepository).search(query.capture());
+        assertEquals(before, query.getValue().dueBefore());
+        assertNull(query.getValue().dueTo());
+    }
+
+    @Test
+    @DisplayName("listAll rejects an unknown sort instead of falling back")
+    void listAll_rejectsUnknownSort() {
+        assertThrows(InvalidSortException.class,
+                () -> service.listAll(TaskFilterDTO.builder().sort("dueDateAscc").build()));
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
     @DisplayName("listById returns DTO when task is owned")
     void listById_owned() {
-        stubCurrentUser();
         Task t = task(10, StatusEnum.IN_PROGRESS, new Date(), currentUser);
         when(taskRepository.findById(10L)).thenReturn(Optional.of(t));
-        when(taskMapper.toDTO(t)).thenReturn(TaskDTO.builder()
-                .id(10L)
-                .title("Task 10")
-                .description("T10")
-                .status(StatusEnum.IN_PROGRESS)
-                .build());
+        when(taskMapper.toDTO(t)).thenReturn(dto(t));
 
         TaskDTO dto = service.listById(10L);
 
         assertEquals("Task 10", dto.title());
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     @DisplayName("updateStatus updates when valid")
     void updateStatus_valid() throws BadRequestException {
-        stubCurrentUser();
         Task t = task(20, StatusEnum.PENDING, new Date(), currentUser);
         when(taskRepository.findById(20L)).thenReturn(Optional.of(t));
-        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(taskMapper.toDTO(any(Task.class))).thenAnswer(inv -> {
-            Task x = inv.getArgument(0);
-            return TaskDTO.builder().id(x.getId()).title(x.getTitle()).description(x.getDescription()).status(x.getStatus()).build();
-        });
+        when(taskRepository.saveAndFlush(t)).thenReturn(t);
+        when(taskMapper.toDTO(t)).thenAnswer(inv -> dto(inv.getArgument(0)));
 
-        TaskDTO dto = service.updateStatus(20L, "done");
+        TaskDTO dto = service.updateStatus(20L, "done", null);
 
         assertEquals(StatusEnum.DONE, dto.status());
+        assertEquals(StatusEnum.DONE, t.getStatus());
         assertEquals("Task 20", dto.title());
+        verify(events).publishEvent(TaskChangedEvent.of(1L, TaskChangeTypeEnum.STATUS_CHANGED, 20L));
+    }
+
+    @Test
+    @DisplayName("updateStatus rejects a stale If-Match before writing")
+    void updateStatus_staleIfMatch() {
+        Task t = task(21, StatusEnum.PENDING, null, currentUser);
+        t.setVersion(3L);
+        when(taskRepository.findById(21L)).thenReturn(Optional.of(t));
+
+        assertThrows(TaskVersionMismatchException.class, () -> service.updateStatus(21L, "DONE", "\"2\""));
+        assertEquals(StatusEnum.PENDING, t.getStatus());
+        verify(taskRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    @DisplayName("updateTask applies the change when If-Match carries the current version")
+    void updateTask_matchingIfMatch() {
+        Task t = task(22, StatusEnum.PENDING, null, currentUser);
+        t.setVersion(3L);
+        TaskRequestDTO req = TaskRequestDTO.builder().title("Edited").build();
+        when(taskRepository.findById(22L)).thenReturn(Optional.of(t));
+        when(taskRepository.saveAndFlush(t)).thenReturn(t);
+        when(taskMapper.toDTO(t)).thenAnswer(inv -> dto(inv.getArgument(0)));
+
+        service.updateTask(22L, req, "W/\"9\", \"3\"");
+
+        verify(taskMapper).updateFromRequest(req, t);
+        verify(events).publishEvent(TaskChangedEvent.of(1L, TaskChangeTypeEnum.UPDATED, 22L));
+    }
+
+    @Test
+    @DisplayName("a write that loses the version race is a 412 with If-Match and a 409 without")
+    void updateTask_lostRace() {
+        Task t = task(23, StatusEnum.PENDING, null, currentUser);
+        t.setVersion(3L);
+        TaskRequestDTO req = TaskRequestDTO.builder().title("Edited").build();
+        when(taskRepository.findById(23L)).thenReturn(Optional.of(t));
+        when(taskRepository.saveAndFlush(t)).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 23L));
+
+        assertThrows(TaskVersionMismatchException.class, () -> service.updateTask(23L, req, "\"3\""));
+        assertThrows(TaskConcurrentUpdateException.class, () -> service.updateTask(23L, req, null));
+        verifyNoInteractions(events);
     }
 
     @Test
     @DisplayName("create maps request to entity, sets user and returns DTO")
     void create_createsTask() {
-        stubCurrentUser();
         TaskRequestDTO req = TaskRequestDTO.builder()
                 .title("My Task")
                 .description("New")
@@ -215,6 +289,7 @@ class TaskServiceImplTest {
         entity.setTitle(req.title());
 
         when(taskMapper.toEntity(req)).thenReturn(entity);
+        when(userRepository.getReferenceById(1L)).thenReturn(currentUser);
         when(taskRepository.save(any(Task.class))).thenAnswer(inv -> {
             Task x = inv.getArgument(0);
             x.setId(100L);
@@ -234,6 +309,359 @@ class TaskServiceImplTest {
 
         assertEquals("My Task", dto.title());
         assertEquals(100L, dto.id());
+        assertSame(currentUser, entity.getUser());
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(events).publishEvent(TaskChangedEvent.of(1L, TaskChangeTypeEnum.CREATED, 100L));
+    }
+
+    @Test
+    @DisplayName("listAll uses the principal id without querying the user table")
+    void listAll_usesPrincipalId() {
+        when(taskRepository.search(any(TaskQuery.class))).thenReturn(new ArrayList<>());
+
+        service.listAll(TaskFilterDTO.builder().build());
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("falls back to a username lookup when the principal carries no id")
+    void getAuthenticatedUser_fallsBackToUsernameLookup() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", "pwd"));
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(currentUser));
+        when(taskRepository.search(any(TaskQuery.class))).thenReturn(new ArrayList<>());
+
+        service.listAll(TaskFilterDTO.builder().build());
+
+        verify(taskRepository).search(argThat(q -> q.userId() == 1L));
+    }
+
+    @Test
+    @DisplayName("throws InvalidTokenException when the principal user no longer exists")
+    void getAuthenticatedUser_throwsWhenUserMissing() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("ghost", "pwd"));
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidTokenException.class, () -> service.listAll(TaskFilterDTO.builder().build()));
     }
 
+    @Test
+    @DisplayName("listById throws OwnershipDeniedException for another user's task")
+    void listById_notOwned() {
+        User other = new User();
+        other.setId(2L);
+        when(taskRepository.findById(11L)).thenReturn(Optional.of(task(11, StatusEnum.PENDING, null, other)));
+
+        assertThrows(OwnershipDeniedException.class, () -> service.listById(11L));
+    }
+
+    @Test
+    @DisplayName("listById throws TaskNotFoundException when the task does not exist")
+    void listById_missing() {
+        when(taskRepository.findById(12L)).thenReturn(Optional.empty());
+
+        assertThrows(TaskNotFoundException.class, () -> service.listById(12L));
+    }
+
+    @Test
+    @DisplayName("updateStatus tells a foreign task from a missing one and leaves it untouched")
+    void updateStatus_notOwnedOrMissing() {
+        User other = new User();
+        other.setId(2L);
+        Task foreign = task(30, StatusEnum.PENDING, null, other);
+        when(taskRepository.findById(30L)).thenReturn(Optional.of(foreign));
+        when(taskRepository.findById(31L)).thenReturn(Optional.empty());
+
+        assertThrows(OwnershipDeniedException.class, () -> service.updateStatus(30L, "DONE", null));
+        assertThrows(TaskNotFoundException.class, () -> service.updateStatus(31L, "DONE", null));
+        assertEquals(StatusEnum.PENDING, foreign.getStatus());
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    @DisplayName("updateStatus validates the status before touching the database")
+    void updateStatus_invalidStatus() {
+        assertThrows(InvalidStatusException.class, () -> service.updateStatus(20L, "ARCHIVED", null));
+        assertThrows(InvalidStatusException.class, () -> service.updateStatus(20L, null, null));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("listById treats a task without an owner as missing")
+    void listById_ownerless() {
+        when(taskRepository.findById(13L)).thenReturn(Optional.of(task(13, StatusEnum.PENDING, null, null)));
+
+        assertThrows(TaskNotFoundException.class, () -> service.listById(13L));
+    }
+
+    @Test
+    @DisplayName("deleteTask removes a cached owned entity and announces the change")
+    void deleteTask_owned() {
+        Task t = task(40, StatusEnum.PENDING, null, currentUser);
+        when(taskRepository.isCached(40L)).thenReturn(true);
+        when(taskRepository.findById(40L)).thenReturn(Optional.of(t));
+
+        service.deleteTask(40L);
+
+        verify(taskRepository).delete(t);
+        verify(taskRepository, never()).deleteByIdAndUserId(anyLong(), anyLong());
+        verify(events).publishEvent(TaskChangedEvent.of(1L, TaskChangeTypeEnum.DELETED, 40L));
+    }
+
+    @Test
+    @DisplayName("deleteTask throws OwnershipDeniedException for another user's cached task")
+    void deleteTask_notOwned() {
+        User other = new User();
+        other.setId(2L);
+        when(taskRepository.isCached(41L)).thenReturn(true);
+        when(taskRepository.findById(41L)).thenReturn(Optional.of(task(41, StatusEnum.PENDING, null, other)));
+
+        assertThrows(OwnershipDeniedException.class, () -> service.deleteTask(41L));
+        verify(taskRepository, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("deleteTask on an uncached task is a single owner-scoped delete")
+    void deleteTask_uncached() {
+        when(taskRepository.deleteByIdAndUserId(42L, 1L)).thenReturn(1);
+
+        service.deleteTask(42L);
+
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).existsByIdAndUserIsNotNull(anyLong());
+        verify(events).publishEvent(TaskChangedEvent.of(1L, TaskChangeTypeEnum.DELETED, 42L));
+    }
+
+    @Test
+    @DisplayName("deleteTask on an uncached task tells a foreign task from a missing or ownerless one")
+    void deleteTask_uncachedNotOwnedOrMissing() {
+        when(taskRepository.existsByIdAndUserIsNotNull(43L)).thenReturn(true);
+
+        assertThrows(OwnershipDeniedException.class, () -> service.deleteTask(43L));
+        assertThrows(TaskNotFoundException.class, () -> service.deleteTask(44L));
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    @DisplayName("listPage returns a cursor when more rows exist than the page size")
+    void listPage_keysetReturnsNextCursor() {
+        Date due = new Date(1_700_000_000_000L);
+        Task t1 = task(1, StatusEnum.PENDING, due, currentUser);
+        Task t2 = task(2, StatusEnum.PENDING, due, currentUser);
+        Task t3 = task(3, StatusEnum.PENDING, due, currentUser);
+        when(taskRepository.search(any(TaskQuery.class))).thenReturn(List.of(dto(t1), dto(t2), dto(t3)));
+
+        TaskPageDTO page = service.listPage(TaskFilterDTO.builder().sort("dueDateAsc").build(), null, 2, null);
+
+        assertEquals(List.of(1L, 2L), page.items().stream().map(TaskDTO::id).toList());
+        TaskCursor next = TaskCursor.decode(page.nextCursor());
+        assertEquals(TaskSortEnum.DUE_DATE_ASC, next.sort());
+        assertEquals(due, next.value());
+        assertEquals(2L, next.id());
+        assertNull(page.totalElements());
+
+        ArgumentCaptor<TaskQuery> query = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskRepository).search(query.capture());
+        assertEquals(3, query.getValue().limit());
+        assertEquals(1L, query.getValue().userId());
+        assertNull(query.getValue().after());
+    }
+
+    @Test
+    @DisplayName("listPage passes the decoded cursor and omits next cursor on the last page")
+    void listPage_keysetLastPage() {
+        String cursor = new TaskCursor(TaskSortEnum.CREATED_AT_ASC, new Date(5L), 9L).encode();
+        when(taskRepository.search(any(TaskQuery.class))).thenReturn(new ArrayList<>());
+
+        TaskPageDTO page = service.listPage(TaskFilterDTO.builder().status(StatusEnum.DONE).build(), null, 10, cursor);
+
+        assertNull(page.nextCursor());
+        ArgumentCaptor<TaskQuery> query = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskRepository).search(query.capture());
+        assertEquals(9L, query.getValue().after().id());
+        assertEquals(StatusEnum.DONE, query.getValue().status());
+    }
+
+    @Test
+    @DisplayName("listPage rejects a cursor issued for a different sort")
+    void listPage_rejectsCursorForOtherSort() {
+        String cursor = new TaskCursor(TaskSortEnum.CREATED_AT_ASC, new Date(5L), 9L).encode();
+
+        assertThrows(InvalidCursorException.class, () -> service.listPage(TaskFilterDTO.builder().sort("dueDateDesc").build(), null, 10, cursor));
+        assertThrows(InvalidCursorException.class, () -> service.listPage(TaskFilterDTO.builder().build(), null, 10, "%%%"));
+    }
+
+    @Test
+    @DisplayName("listPage with page uses offset pagination and reports the total")
+    void listPage_offsetReportsTotal() {
+        when(taskRepository.search(any(TaskQuery.class))).thenReturn(new ArrayList<>());
+        when(taskRepository.count(any(TaskQuery.class))).thenReturn(42L);
+
+        TaskPageDTO page = service.listPage(TaskFilterDTO.builder().build(), 2, 20, null);
+
+        assertEquals(42L, page.totalElements());
+        ArgumentCaptor<TaskQuery> query = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskRepository).search(query.capture());
+        assertEquals(40, query.getValue().offset());
+        assertEquals(20, query.getValue().limit());
+    }
+
+    @Test
+    @DisplayName("listPage clamps an offset past the int range instead of overflowing")
+    void listPage_clampsHugeOffset() {
+        when(taskRepository.search(any(TaskQuery.class))).thenReturn(new ArrayList<>());
+
+        TaskPageDTO page = service.listPage(TaskFilterDTO.builder().build(), 100_000_000, 100, null);
+
+        assertTrue(page.items().isEmpty());
+        ArgumentCaptor<TaskQuery> query = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskRepository).search(query.capture());
+        assertEquals(Integer.MAX_VALUE, query.getValue().offset());
+    }
+
+    @Test
+    @DisplayName("export writes one JSON object per line and closes the stream")
+    void export_ndjson() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(taskRepository.stream(any(TaskQuery.class))).thenReturn(Stream.of(
+                TaskDTO.builder().id(1L).title("A").status(StatusEnum.PENDING).build(),
+                TaskDTO.builder().id(2L).title("B").status(StatusEnum.DONE).build()
+        ).onClose(() -> closed.set(true)));
+        StringWriter out = new StringWriter();
+
+        service.export(TaskFilterDTO.builder().status(StatusEnum.DONE).build(), ExportFormatEnum.NDJSON, out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"title\":\"A\""));
+        assertTrue(lines[1].contains("\"status\":\"DONE\""));
+        assertTrue(closed.get());
+        ArgumentCaptor<TaskQuery> query = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskRepository).stream(query.capture());
+        assertEquals(1L, query.getValue().userId());
+        assertEquals(StatusEnum.DONE, query.getValue().status());
+        verifyNoInteractions(taskMapper);
+    }
+
+    @Test
+    @DisplayName("export writes a CSV header and quotes fields that need escaping")
+    void export_csv() throws Exception {
+        when(taskRepository.stream(any(TaskQuery.class))).thenReturn(Stream.of(
+                TaskDTO.builder().id(7L).title("Buy milk, eggs").description("say \"hi\"")
+                        .dueDate(new Date(0L)).status(StatusEnum.PENDING).build()
+        ));
+        StringWriter out = new StringWriter();
+
+        service.export(TaskFilterDTO.builder().build(), ExportFormatEnum.CSV, out);
+
+        assertEquals("id,title,description,createdAt,dueDate,status\n"
+                + "7,\"Buy milk, eggs\",\"say \"\"hi\"\"\",,1970-01-01T00:00:00Z,PENDING\n", out.toString());
+    }
+
+
+    @Test
+    @DisplayName("createBatch inserts valid items in one call and reports rejected ones by index")
+    void createBatch_reportsPerItemResults() {
+        when(userRepository.getReferenceById(1L)).thenReturn(currentUser);
+        when(taskMapper.toEntity(any(TaskRequestDTO.class))).thenAnswer(inv -> {
+            TaskRequestDTO dto = inv.getArgument(0);
+            Task t = new Task();
+            t.setTitle(dto.title());
+            return t;
+        });
+        doAnswer(inv -> {
+            List<Task> tasks = inv.getArgument(0);
+            long id = 100;
+            for (Task t : tasks) t.setId(id++);
+            return null;
+        }).when(taskRepository).insertAll(anyList());
+
+        List<TaskRequestDTO> dtos = new ArrayList<>();
+        dtos.add(TaskRequestDTO.builder().title("A").build());
+        dtos.add(TaskRequestDTO.builder().title("x".repeat(256)).build());
+        dtos.add(null);
+        dtos.add(TaskRequestDTO.builder().title("B").build());
+
+        TaskBatchResultDTO result = service.createBatch(dtos);
+
+        assertEquals(2, result.created());
+        assertEquals(2, result.rejected());
+        assertEquals(List.of(0, 1, 2, 3), result.items().stream().map(TaskBatchItemResultDTO::index).toList());
+        assertEquals(100L, result.items().get(0).id());
+        assertNotNull(result.items().get(1).error());
+        assertNotNull(result.items().get(2).error());
+        assertEquals(101L, result.items().get(3).id());
+        verify(taskRepository, times(1)).insertAll(argThat(tasks ->
+                tasks.size() == 2 && tasks.stream().allMatch(t -> t.getUser() == currentUser)));
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("createBatch rejects batches above the maximum size")
+    void createBatch_tooLarge() {
+        List<TaskRequestDTO> dtos = Collections.nCopies(5001, TaskRequestDTO.builder().title("A").build());
+
+        assertThrows(BatchTooLargeException.class, () -> service.createBatch(dtos));
+        verifyNoInteractions(taskRepository);
+    }
+
+
+    @Test
+    @DisplayName("updateStatusBulk runs one scoped update for the given ids")
+    void updateStatusBulk_byIds() {
+        when(taskRepository.bulkUpdateStatus(any(TaskQuery.class), eq(StatusEnum.DONE))).thenReturn(2);
+
+        BulkOperationResultDTO result = service.updateStatusBulk(BulkStatusUpdateRequestDTO.builder()
+                .ids(List.of(4L, 5L, 6L))
+                .status("done")
+                .build());
+
+        assertEquals(2, result.affected());
+        ArgumentCaptor<TaskQuery> query = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskRepository).bulkUpdateStatus(query.capture(), eq(StatusEnum.DONE));
+        assertEquals(1L, query.getValue().userId());
+        assertEquals(List.of(4L, 5L, 6L), query.getValue().ids());
+        verify(taskRepository, never()).findById(anyLong());
+        verify(events).publishEvent(TaskChangedEvent.bulk(1L, TaskChangeTypeEnum.STATUS_CHANGED));
+    }
+
+    @Test
+    @DisplayName("updateStatusBulk rejects an invalid status and an empty selection")
+    void updateStatusBulk_rejectsInvalidInput() {
+        assertThrows(InvalidStatusException.class, () -> service.updateStatusBulk(BulkStatusUpdateRequestDTO.builder()
+                .ids(List.of(1L))
+                .status("ARCHIVED")
+                .build()));
+        assertThrows(EmptySelectionException.class, () -> service.updateStatusBulk(BulkStatusUpdateRequestDTO.builder()
+                .ids(List.of())
+                .filter(TaskFilterDTO.builder().sort("titleAsc").build())
+                .status("DONE")
+                .build()));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("deleteBulk passes the filter to a single scoped delete")
+    void deleteBulk_byFilter() {
+        Date to = new Date(1_700_000_000_000L);
+        when(taskRepository.bulkDelete(any(TaskQuery.class))).thenReturn(7);
+
+        BulkOperationResultDTO result = service.deleteBulk(null,
+                TaskFilterDTO.builder().status(StatusEnum.DONE).dueTo(to).build());
+
+        assertEquals(7, result.affected());
+        ArgumentCaptor<TaskQuery> query = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(taskRepository).bulkDelete(query.capture());
+        assertEquals(1L, query.getValue().userId());
+        assertNull(query.getValue().ids());
+        assertEquals(StatusEnum.DONE, query.getValue().status());
+        assertEquals(to, query.getValue().dueTo());
+    }
+
+    @Test
+    @DisplayName("deleteBulk without ids or filter throws EmptySelectionException")
+    void deleteBulk_emptySelection() {
+        assertThrows(EmptySelectionException.class, () -> service.deleteBulk(null, TaskFilterDTO.builder().build()));
+        verifyNoInteractions(taskRepository);
+    }
 }
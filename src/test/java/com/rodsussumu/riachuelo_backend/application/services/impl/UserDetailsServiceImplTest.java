@@ -1,5 +1,7 @@
 package com.rodsussumu.riachuelo_backend.application.services.impl;
 
+import com.rodsussumu.riachuelo_backend.application.config.AuthenticatedUser;
+import com.rodsussumu.riachuelo_backend.application.events.UserChangedEvent;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidTokenException;
 import com.rodsussumu.riachuelo_backend.application.models.User;
 import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
@@ -9,11 +11,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.junit.jupiter.api.extension.ExtendWith;
 
@@ -23,6 +27,9 @@ public class UserDetailsServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher events;
+
     @InjectMocks
     private UserDetailsServiceImpl service;
 
@@ -44,6 +51,7 @@ public class UserDetailsServiceImplTest {
         assertNotNull(result);
         assertEquals("john", result.getUsername());
         assertEquals("12345", result.getPassword());
+        assertEquals(1L, ((AuthenticatedUser) result).id());
     }
 
     @Test
@@ -52,4 +60,16 @@ public class UserDetailsServiceImplTest {
         when(userRepository.findByUsername("unknown")).thenReturn(Optional.empty());
         assertThrows(InvalidTokenException.class, () -> service.loadUserByUsername("unknown"));
     }
+
+    @Test
+    @DisplayName("updatePassword should store the new hash and return the refreshed principal")
+    void shouldUpdatePassword() {
+        UserDetails updated = service.updatePassword(new AuthenticatedUser(1L, "john", "old", 3), "{bcrypt}new");
+
+        verify(userRepository).updatePasswordByUsername("john", "{bcrypt}new");
+        verify(events).publishEvent(new UserChangedEvent(1L, "john"));
+        assertEquals("{bcrypt}new", updated.getPassword());
+        assertEquals(1L, ((AuthenticatedUser) updated).id());
+        assertEquals(3, ((AuthenticatedUser) updated).tokenVersion());
+    }
 }
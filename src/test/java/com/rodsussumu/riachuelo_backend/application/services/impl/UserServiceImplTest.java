@@ -1,23 +1,33 @@
 package com.rodsussumu.riachuelo_backend.application.services.impl;
 
+import com.rodsussumu.riachuelo_backend.application.config.AuthenticatedUser;
 import com.rodsussumu.riachuelo_backend.application.config.TokenService;
+import com.rodsussumu.riachuelo_backend.application.config.TokenVersionRegistry;
 import com.rodsussumu.riachuelo_backend.application.dtos.UserAuthDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.UserAuthResponseDTO;
 import com.rodsussumu.riachuelo_backend.application.dtos.UserRegisterResponseDTO;
+import com.rodsussumu.riachuelo_backend.application.events.UserChangedEvent;
 import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.BadCredentialsException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.InvalidTokenException;
+import com.rodsussumu.riachuelo_backend.application.exceptions.custom_exceptions.UsernameAlreadyExistsException;
 import com.rodsussumu.riachuelo_backend.application.models.User;
 import com.rodsussumu.riachuelo_backend.application.repositories.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
 import java.util.Optional;
 
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +39,8 @@ public class UserServiceImplTest {
     private AuthenticationManager authenticationManager;
     private TokenService tokenService;
     private PasswordEncoder passwordEncoder;
+    private ApplicationEventPublisher events;
+    private TokenVersionRegistry tokenVersionRegistry;
 
     private UserServiceImpl service;
 
@@ -38,64 +50,106 @@ public class UserServiceImplTest {
         authenticationManager = mock(AuthenticationManager.class);
         tokenService = mock(TokenService.class);
         passwordEncoder = mock(PasswordEncoder.class);
-        service = new UserServiceImpl(userRepository, authenticationManager, tokenService, passwordEncoder);
+        events = mock(ApplicationEventPublisher.class);
+        tokenVersionRegistry = new TokenVersionRegistry(userRepository, true);
+        service = new UserServiceImpl(userRepository, authenticationManager, tokenService, passwordEncoder, events, tokenVersionRegistry);
     }
 
     @Test
     @DisplayName("register should create user when username not taken")
     void register_shouldCreateUser() {
-        when(userRepository.findByUsername("john")).thenReturn(Optional.empty());
         when(passwordEncoder.encode("123")).thenReturn("ENC_123");
+        when(userRepository.saveAndFlush(any())).thenAnswer(inv -> {
+            User saved = inv.getArgument(0);
+            saved.setId(7L);
+            return saved;
+        });
 
         UserRegisterResponseDTO resp = service.register(new UserAuthDTO("john", "123"));
 
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
+        verify(userRepository, never()).findByUsername(any());
         assertEquals("john", userCaptor.getValue().getUsername());
         assertEquals("ENC_123", userCaptor.getValue().getPassword());
         assertEquals("john", resp.username());
         assertEquals("User created", resp.message());
+        verify(events).publishEvent(new UserChangedEvent(7L, "john"));
     }
 
     @Test
     @DisplayName("register should throw when username already exists")
     void register_shouldThrowOnDuplicate() {
-        User existing = new User();
-        existing.setId(1L);
-        existing.setUsername("john");
-        when(userRepository.findByUsername("john")).thenReturn(Optional.of(existing));
-        assertThrows(RuntimeException.class, () -> service.register(new UserAuthDTO("john", "123")));
-        verify(userRepository, never()).save(any());
+        SQLException duplicate = new SQLException("duplicate key value", "23505");
+        when(userRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", duplicate, "uk_users_username")));
+        assertThrows(UsernameAlreadyExistsException.class, () -> service.register(new UserAuthDTO("john", "123")));
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    @DisplayName("register should rethrow integrity violations other than the username unique constraint")
+    void register_shouldRethrowOtherViolations() {
+        SQLException notNull = new SQLException("null value in column", "23502");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", notNull, null));
+        when(userRepository.saveAndFlush(any())).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> service.register(new UserAuthDTO("john", "123"))));
+        verifyNoInteractions(events);
     }
 
     @Test
     @DisplayName("login should authenticate and return token")
     void login_shouldAuthenticateAndReturnToken() {
         Authentication auth = mock(Authentication.class);
-        when(auth.getName()).thenReturn("john");
+        when(auth.getPrincipal()).thenReturn(new AuthenticatedUser(5L, "john", "hash", 2));
         when(authenticationManager.authenticate(any())).thenReturn(auth);
-        when(userRepository.findByUsername("john")).thenReturn(Optional.of(new User()));
-        when(tokenService.generateToken("john")).thenReturn("tkn");
+        when(tokenService.generateToken("john", 5L, 2)).thenReturn("tkn");
 
         UserAuthResponseDTO resp = service.login(new UserAuthDTO("john", "123"));
 
         assertEquals("john", resp.username());
         assertEquals(true, resp.authenticated());
+        assertEquals("tkn", resp.token());
         verify(authenticationManager).authenticate(any());
-        verify(tokenService).generateToken("john");
+        verify(tokenService).generateToken("john", 5L, 2);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
-    @DisplayName("login should throw BadCredentialsException when repository returns null Optional reference")
-    void login_shouldThrowWhenRepoReturnsNullReference() {
+    @DisplayName("login should throw BadCredentialsException when the principal is not an AuthenticatedUser")
+    void login_shouldThrowWhenPrincipalUnknown() {
         Authentication auth = mock(Authentication.class);
+        when(auth.getPrincipal()).thenReturn("john");
         when(authenticationManager.authenticate(any())).thenReturn(auth);
-        when(userRepository.findByUsername("john")).thenReturn(null);
 
         assertThrows(BadCredentialsException.class, () -> service.login(new UserAuthDTO("john", "123")));
 
         verify(authenticationManager).authenticate(any());
-        verify(tokenService, never()).generateToken(any());
+        verify(tokenService, never()).generateToken(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("revokeTokens bumps the version and rejects older tokens on this node at once")
+    void revokeTokens_appliesImmediately() {
+        when(userRepository.incrementTokenVersion(5L)).thenReturn(1);
+        when(userRepository.findTokenVersionById(5L)).thenReturn(Optional.of(3));
+
+        service.revokeTokens(5L);
+
+        assertFalse(tokenVersionRegistry.isCurrent(5L, 2));
+        assertTrue(tokenVersionRegistry.isCurrent(5L, 3));
+        verify(events).publishEvent(new UserChangedEvent(5L, null));
     }
 
+    @Test
+    @DisplayName("revokeTokens throws InvalidTokenException when the user no longer exists")
+    void revokeTokens_unknownUser() {
+        when(userRepository.incrementTokenVersion(5L)).thenReturn(0);
+
+        assertThrows(InvalidTokenException.class, () -> service.revokeTokens(5L));
+        verifyNoInteractions(events);
+    }
 }
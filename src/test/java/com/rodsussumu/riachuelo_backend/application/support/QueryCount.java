@@ -0,0 +1,48 @@
+package com.rodsussumu.riachuelo_backend.application.support;
+
+import java.util.List;
+import java.util.Locale;
+
+public record QueryCount(
+        int selects,
+        int inserts,
+        int updates,
+        int deletes,
+        int sequenceFetches,
+        List<String> statements
+) {
+    public static QueryCount of(List<String> statements) {
+        int selects = 0, inserts = 0, updates = 0, deletes = 0, sequences = 0;
+        for (String sql : statements) {
+            String normalized = sql.trim().toLowerCase(Locale.ROOT);
+            if (normalized.contains("nextval(")) {
+                sequences++;
+            } else if (normalized.startsWith("insert")) {
+                inserts++;
+            } else if (normalized.startsWith("update")) {
+                updates++;
+            } else if (normalized.startsWith("delete")) {
+                deletes++;
+            } else {
+                selects++;
+            }
+        }
+        return new QueryCount(selects, inserts, updates, deletes, sequences, List.copyOf(statements));
+    }
+
+    // Sequence fetches happen once per allocation block, so they are left out of the per-request cost.
+    public int roundTrips() {
+        return selects + inserts + updates + deletes;
+    }
+
+    public long countMatching(String fragment) {
+        String needle = fragment.toLowerCase(Locale.ROOT);
+        return statements.stream().filter(sql -> sql.toLowerCase(Locale.ROOT).contains(needle)).count();
+    }
+
+    @Override
+    public String toString() {
+        return roundTrips() + " (select=" + selects + ", insert=" + inserts + ", update=" + updates
+                + ", delete=" + deletes + ", sequence=" + sequenceFetches + ")";
+    }
+}
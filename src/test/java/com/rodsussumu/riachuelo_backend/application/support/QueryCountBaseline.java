@@ -0,0 +1,61 @@
+package com.rodsussumu.riachuelo_backend.application.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryCountBaseline {
+    public static final String RESOURCE = "/query-count-baseline.properties";
+    public static final Path REPORT = Path.of("target", "query-count-report.md");
+
+    private final Properties baseline = new Properties();
+    private final Map<String, QueryCount> measured = new TreeMap<>();
+
+    public QueryCountBaseline() {
+        try (InputStream in = QueryCountBaseline.class.getResourceAsStream(RESOURCE)) {
+            assertNotNull(in, RESOURCE + " is missing");
+            baseline.load(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void assertWithinBaseline(String operation, QueryCount actual) {
+        measured.put(operation, actual);
+        String expected = baseline.getProperty(operation);
+        assertNotNull(expected, "No baseline for " + operation + "; add it to " + RESOURCE);
+        int allowed = Integer.parseInt(expected.trim());
+        assertTrue(actual.roundTrips() <= allowed,
+                operation + " now needs " + actual + " round-trips, baseline is " + allowed + ":\n"
+                        + String.join("\n", actual.statements()));
+        assertTrue(actual.roundTrips() >= allowed,
+                operation + " dropped to " + actual + " round-trips; lower its baseline from " + allowed
+                        + " in " + RESOURCE);
+    }
+
+    public void writeReport() throws IOException {
+        StringBuilder report = new StringBuilder()
+                .append("| Operation | Baseline | Measured | select | insert | update | delete | sequence |\n")
+                .append("|---|---|---|---|---|---|---|---|\n");
+        measured.forEach((operation, count) -> report
+                .append("| ").append(operation)
+                .append(" | ").append(baseline.getProperty(operation, "-"))
+                .append(" | ").append(count.roundTrips())
+                .append(" | ").append(count.selects())
+                .append(" | ").append(count.inserts())
+                .append(" | ").append(count.updates())
+                .append(" | ").append(count.deletes())
+                .append(" | ").append(count.sequenceFetches())
+                .append(" |\n"));
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report);
+    }
+}
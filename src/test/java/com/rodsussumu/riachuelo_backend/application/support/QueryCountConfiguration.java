@@ -0,0 +1,20 @@
+package com.rodsussumu.riachuelo_backend.application.support;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryCountConfiguration {
+
+    @Bean
+    SqlStatementRecorder sqlStatementRecorder() {
+        return new SqlStatementRecorder();
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer sqlStatementRecorderCustomizer(SqlStatementRecorder recorder) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, recorder);
+    }
+}
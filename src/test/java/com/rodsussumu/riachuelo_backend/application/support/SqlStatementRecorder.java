@@ -0,0 +1,36 @@
+package com.rodsussumu.riachuelo_backend.application.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class SqlStatementRecorder implements StatementInspector {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+
+    @Override
+    public String inspect(String sql) {
+        if (recording) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public synchronized QueryCount record(Action action) throws Exception {
+        statements.clear();
+        recording = true;
+        try {
+            action.run();
+        } finally {
+            recording = false;
+        }
+        return QueryCount.of(statements);
+    }
+}
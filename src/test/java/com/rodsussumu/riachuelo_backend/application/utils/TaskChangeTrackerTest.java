@@ -0,0 +1,77 @@
+package com.rodsussumu.riachuelo_backend.application.utils;
+
+import com.rodsussumu.riachuelo_backend.application.config.CacheInvalidation;
+import com.rodsussumu.riachuelo_backend.application.config.CacheInvalidationChannel;
+import com.rodsussumu.riachuelo_backend.application.config.LocalCacheInvalidationChannel;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskChangeTypeEnum;
+import com.rodsussumu.riachuelo_backend.application.events.TaskChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskChangeTrackerTest {
+
+    final List<CacheInvalidation> published = new ArrayList<>();
+    final List<Consumer<CacheInvalidation>> listeners = new ArrayList<>();
+    TaskChangeTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new TaskChangeTracker(new CacheInvalidationChannel() {
+            @Override
+            public void publish(CacheInvalidation invalidation) {
+                published.add(invalidation);
+            }
+
+            @Override
+            public void subscribe(Consumer<CacheInvalidation> listener) {
+                listeners.add(listener);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("the ETag is stable until the user's tasks change")
+    void etag_changesOnlyWithTheUser() {
+        String mine = tracker.etag(1L);
+        String theirs = tracker.etag(2L);
+
+        assertEquals(mine, tracker.etag(1L));
+        assertTrue(mine.startsWith("\"") && mine.endsWith("\""), mine);
+
+        tracker.onTaskChanged(TaskChangedEvent.bulk(1L, TaskChangeTypeEnum.DELETED));
+
+        assertNotEquals(mine, tracker.etag(1L));
+        assertEquals(theirs, tracker.etag(2L));
+        assertEquals(List.of(1L), published.get(0).ids());
+    }
+
+    @Test
+    @DisplayName("two nodes never hand out the same ETag")
+    void etag_isNodeSpecific() {
+        TaskChangeTracker other = new TaskChangeTracker(new LocalCacheInvalidationChannel());
+
+        assertEquals(tracker.version(1L), other.version(1L));
+        assertNotEquals(tracker.etag(1L), other.etag(1L));
+    }
+
+    @Test
+    @DisplayName("invalidations from other nodes move the version, echoes of its own are ignored")
+    void remoteInvalidation() {
+        tracker.onTaskChanged(TaskChangedEvent.of(1L, TaskChangeTypeEnum.UPDATED, 10L));
+        long version = tracker.version(1L);
+
+        listeners.forEach(listener -> listener.accept(published.get(0)));
+        assertEquals(version, tracker.version(1L));
+
+        listeners.forEach(listener -> listener.accept(
+                new CacheInvalidation("other-node", TaskChangeTracker.REGION, List.of(1L), null)));
+        assertNotEquals(version, tracker.version(1L));
+    }
+}
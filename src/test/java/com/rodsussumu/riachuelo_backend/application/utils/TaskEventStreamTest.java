@@ -0,0 +1,169 @@
+package com.rodsussumu.riachuelo_backend.application.utils;
+
+import com.rodsussumu.riachuelo_backend.application.enums.TaskChangeTypeEnum;
+import com.rodsussumu.riachuelo_backend.application.events.TaskChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class TaskEventStreamTest {
+
+    private static final Pattern LAST_ID = Pattern.compile("(?s).*id:(\\S+)");
+
+    SimpleMeterRegistry meterRegistry;
+    TaskEventStream stream;
+    MockMvc mvc;
+
+    @RestController
+    class StreamController {
+        @GetMapping("/stream")
+        SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+            return TaskEventStreamTest.this.stream.subscribe(1L, lastEventId);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stream = newStream(Duration.ofMinutes(5));
+        mvc = MockMvcBuilders.standaloneSetup(new StreamController()).build();
+    }
+
+    private TaskEventStream newStream(Duration retention) {
+        return new TaskEventStream(Jackson2ObjectMapperBuilder.json().build(), meterRegistry,
+                8, 4, Duration.ofHours(1), Duration.ofMinutes(1), retention, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.close();
+    }
+
+    private MvcResult open(String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder builder = get("/stream");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private String await(MvcResult result, String fragment) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(fragment) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            body = result.getResponse().getContentAsString();
+        }
+        String received = body;
+        assertTrue(received.contains(fragment), () -> "missing " + fragment + " in:\n" + received);
+        return received;
+    }
+
+    private static String lastId(String body) {
+        Matcher matcher = LAST_ID.matcher(body);
+        assertTrue(matcher.find(), body);
+        return matcher.group(1);
+    }
+
+    private void change(Long taskId) {
+        stream.onTaskChanged(TaskChangedEvent.of(1L, TaskChangeTypeEnum.UPDATED, taskId));
+    }
+
+    @Test
+    @DisplayName("a new stream starts with ready and then receives the user's changes only")
+    void newStream_receivesOwnChanges() throws Exception {
+        MvcResult result = open(null);
+        await(result, "event:ready");
+
+        stream.onTaskChanged(TaskChangedEvent.of(2L, TaskChangeTypeEnum.CREATED, 99L));
+        change(10L);
+        stream.onTaskChanged(TaskChangedEvent.bulk(1L, TaskChangeTypeEnum.DELETED));
+
+        String body = await(result, "\"type\":\"DELETED\"");
+        assertTrue(body.contains("event:task\ndata:{\"type\":\"UPDATED\",\"taskIds\":[10]}"), body);
+        assertFalse(body.contains("\"taskIds\":[99]"), body);
+        assertEquals(1.0, meterRegistry.get("tasks.stream.connections").gauge().value());
+    }
+
+    @Test
+    @DisplayName("reconnecting with Last-Event-ID replays exactly the missed events")
+    void lastEventId_replaysMissedEvents() throws Exception {
+        MvcResult first = open(null);
+        change(10L);
+        String seen = lastId(await(first, "[10]"));
+
+        change(11L);
+        change(12L);
+        MvcResult resumed = open(seen);
+
+        String body = await(resumed, "[12]");
+        assertTrue(body.contains("[11]"), body);
+        assertFalse(body.contains("[10]"), body);
+        assertFalse(body.contains("event:reset"), body);
+    }
+
+    @Test
+    @DisplayName("an unknown or expired Last-Event-ID gets a reset to resume from")
+    void staleLastEventId_getsReset() throws Exception {
+        await(open("someone-else-3"), "event:reset");
+
+        String seen = lastId(await(open(null), "event:ready"));
+        for (long id = 20; id < 26; id++) {
+            change(id);
+        }
+        String reset = lastId(await(open(seen), "event:reset"));
+
+        change(30L);
+        String body = await(open(reset), "[30]");
+        assertFalse(body.contains("event:reset"), body);
+    }
+
+    @Test
+    @DisplayName("an id issued before the user's stream was retired gets a reset")
+    void retiredStream_resetsEarlierIds() throws Exception {
+        stream.close();
+        stream = newStream(Duration.ZERO);
+        MvcResult first = open(null);
+        String seen = lastId(await(first, "event:ready"));
+        first.getRequest().getAsyncContext().complete();
+        assertEquals(0, stream.openConnections());
+
+        stream.tick();
+        change(10L);
+
+        await(open(seen), "event:reset");
+    }
+
+    @Test
+    @DisplayName("heartbeats keep idle streams alive")
+    void tick_sendsHeartbeat() throws Exception {
+        MvcResult result = open(null);
+        await(result, "event:ready");
+
+        stream.tick();
+
+        String body = await(result, "\n:\n");
+        assertEquals(List.of("ready"), Pattern.compile("event:(\\w+)").matcher(body).results()
+                .map(match -> match.group(1)).toList());
+    }
+}
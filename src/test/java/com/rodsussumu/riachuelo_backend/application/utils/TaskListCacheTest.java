@@ -0,0 +1,82 @@
+package com.rodsussumu.riachuelo_backend.application.utils;
+
+import com.rodsussumu.riachuelo_backend.application.config.LocalCacheInvalidationChannel;
+import com.rodsussumu.riachuelo_backend.application.dtos.TaskDTO;
+import com.rodsussumu.riachuelo_backend.application.enums.StatusEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskChangeTypeEnum;
+import com.rodsussumu.riachuelo_backend.application.enums.TaskSortEnum;
+import com.rodsussumu.riachuelo_backend.application.events.TaskChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskListCacheTest {
+
+    final AtomicInteger loads = new AtomicInteger();
+    SimpleMeterRegistry meterRegistry;
+    TaskChangeTracker tracker;
+    TaskListCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new TaskChangeTracker(new LocalCacheInvalidationChannel());
+        cache = new TaskListCache(Jackson2ObjectMapperBuilder.json().build(), tracker,
+                meterRegistry, 1 << 20, Duration.ofMinutes(1));
+    }
+
+    private String get(Long userId, StatusEnum status, TaskSortEnum sort) {
+        byte[] body = cache.get(userId, status, sort, () -> List.of(TaskDTO.builder()
+                .id((long) loads.incrementAndGet())
+                .title("user " + userId)
+                .build()));
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("repeated reads serve the stored body without loading again")
+    void repeatedReads_hitTheCache() {
+        String first = get(1L, null, TaskSortEnum.CREATED_AT_ASC);
+        String second = get(1L, null, TaskSortEnum.CREATED_AT_ASC);
+
+        assertEquals(1, loads.get());
+        assertEquals(first, second);
+        assertTrue(first.contains("\"title\":\"user 1\""), first);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "task-lists").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("status filter and sort are part of the key")
+    void statusAndSort_areSeparateEntries() {
+        get(1L, null, TaskSortEnum.CREATED_AT_ASC);
+        get(1L, StatusEnum.DONE, TaskSortEnum.CREATED_AT_ASC);
+        get(1L, null, TaskSortEnum.TITLE_ASC);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("a task change drops every list of that user and no one else's")
+    void taskChange_invalidatesOnlyThatUser() {
+        get(1L, null, TaskSortEnum.CREATED_AT_ASC);
+        get(1L, StatusEnum.DONE, TaskSortEnum.CREATED_AT_ASC);
+        get(2L, null, TaskSortEnum.CREATED_AT_ASC);
+
+        tracker.onTaskChanged(TaskChangedEvent.of(1L, TaskChangeTypeEnum.UPDATED, 10L));
+        get(1L, null, TaskSortEnum.CREATED_AT_ASC);
+        get(1L, StatusEnum.DONE, TaskSortEnum.CREATED_AT_ASC);
+        get(2L, null, TaskSortEnum.CREATED_AT_ASC);
+
+        assertEquals(5, loads.get());
+    }
+}